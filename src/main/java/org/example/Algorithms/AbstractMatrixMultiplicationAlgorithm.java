@@ -1,5 +1,11 @@
 package org.example.Algorithms;
 
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.FloatMatrix;
+import org.example.Matrices.MatrixBatch;
+import org.example.Matrices.OffHeapMatrix;
+import org.example.Matrices.PreparedOperand;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ClasspathHelper;
@@ -21,11 +27,216 @@ public interface AbstractMatrixMultiplicationAlgorithm {
      */
     double[][] multiply(double[][] a, double[][] b);
 
+    /**
+     * Multiply flat row-major matrices A and B.
+     * Algorithms that work on the flat layout natively should override this;
+     * the default round-trips through the jagged version.
+     */
+    default DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
+        }
+        return DenseMatrix.of(multiply(a.toArray(), b.toArray()));
+    }
+
+    /**
+     * GEMM-style C = alpha * A * B + beta * C, writing into an existing matrix.
+     * With beta == 0 the old contents of C are never read, so C may hold garbage.
+     * Algorithms with reusable workspaces override this to avoid allocating; the
+     * default computes the product into a temporary first.
+     */
+    default void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            multiplyVector(a, b, c, alpha, beta);
+            return;
+        }
+
+        DenseMatrix product = multiply(a, b);
+        double[] pData = product.data();
+        double[] cData = c.data();
+
+        for (int i = 0; i < c.rows(); i++) {
+            int pi = product.index(i, 0), ci = c.index(i, 0);
+            for (int j = 0; j < c.cols(); j++) {
+                cData[ci + j] = beta == 0.0
+                        ? alpha * pData[pi + j]
+                        : alpha * pData[pi + j] + beta * cData[ci + j];
+            }
+        }
+    }
+
+    /**
+     * C = A * B, writing into an existing matrix
+     */
+    default void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        multiplyInto(a, b, c, 1.0, 0.0);
+    }
+
+    /**
+     * True if A * B is a matrix-vector (B has one column) or vector-matrix (A has one row) product.
+     * Such products read every element of the matrix operand once and are bound by memory
+     * bandwidth, so algorithms route them to {@link #multiplyVector} instead of transposing,
+     * tiling and forking as for a square product.
+     */
+    default boolean isVectorProduct(DenseMatrix a, DenseMatrix b) {
+        return MatrixVectorKernel.isVectorProduct(a, b);
+    }
+
+    /**
+     * Multiply a matrix by a column vector or a row vector by a matrix with the GEMV/GEVM kernels
+     */
+    default DenseMatrix multiplyVector(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        multiplyVector(a, b, result, 1.0, 0.0);
+        return result;
+    }
+
+    /**
+     * C = alpha * A * B + beta * C for a vector product. The matrix operand is streamed once
+     * in row-major order, split over {@link #context()} by rows of A (GEMV) or by blocks of
+     * columns of B (GEVM); small products stay on the calling thread.
+     */
+    default void multiplyVector(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        MatrixVectorKernel.multiplyInto(a, b, c, alpha, beta, context());
+    }
+
+    /**
+     * Context the algorithm runs its parallel work on, also used by the default vector products.
+     * Parallel algorithms return the context they were built with; sequential ones run on the caller.
+     */
+    default ExecutionContext context() {
+        return ExecutionContext.callerRuns();
+    }
+
+    /**
+     * Multiply a chain of matrices A0 * A1 * ... in the order that minimizes
+     * {@link #estimateCost}, computing independent sub-products in parallel (see {@link MatrixChain})
+     */
+    default DenseMatrix multiplyChain(DenseMatrix... matrices) {
+        return new MatrixChain(this).multiply(matrices);
+    }
+
+    /**
+     * Estimated cost of an m x n times n x p product, in floating-point operations.
+     * Chain planning compares orders with it; algorithms doing asymptotically less
+     * work than the classical 2 * m * n * p override it.
+     */
+    default double estimateCost(int m, int n, int p) {
+        return 2.0 * m * n * p;
+    }
+
+    /**
+     * Multiply A by a prepared right-hand operand.
+     * Transposing algorithms override this to read the prepared transpose instead of
+     * transposing B again; the default multiplies by the original B.
+     */
+    default DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        return multiply(a, b.matrix());
+    }
+
+    /**
+     * C = alpha * A * B + beta * C for a prepared right-hand operand
+     */
+    default void multiplyInto(DenseMatrix a, PreparedOperand b, DenseMatrix c, double alpha, double beta) {
+        multiplyInto(a, b.matrix(), c, alpha, beta);
+    }
+
+    /**
+     * Multiply single-precision matrices A and B.
+     * Float algorithms override this; the default widens to double and rounds the result back.
+     */
+    default FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        return FloatMatrix.of(multiply(a.toDense(), b.toDense()));
+    }
+
+    /**
+     * Multiply off-heap matrices A and B.
+     * Off-heap kernels override this to stay off the heap; the default round-trips
+     * through heap copies, so it only works for matrices that fit in a DenseMatrix.
+     */
+    default OffHeapMatrix multiply(OffHeapMatrix a, OffHeapMatrix b) {
+        return OffHeapMatrix.of(multiply(a.toDense(), b.toDense()));
+    }
+
+    /**
+     * C = alpha * A * B + beta * C for off-heap matrices, round-tripping through heap copies by default
+     */
+    default void multiplyInto(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c, double alpha, double beta) {
+        DenseMatrix result = c.toDense();
+        multiplyInto(a.toDense(), b.toDense(), result, alpha, beta);
+        c.copyFrom(result);
+    }
+
+    /**
+     * Multiply every pair a[i] * b[i] of two batches of the same size.
+     * For double-precision algorithms, small products (up to 64^3 multiply-adds) run
+     * through a kernel vectorized across the batch; otherwise the pairs are spread over
+     * {@link #context()}, one product per task, each computed with this algorithm.
+     */
+    default MatrixBatch multiplyBatch(MatrixBatch a, MatrixBatch b) {
+        if (a.count() != b.count() || a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Invalid batches for multiplication: " + a + " * " + b);
+        }
+
+        MatrixBatch result = new MatrixBatch(a.count(), a.rows(), b.cols());
+        // The batched kernel computes in double, which would hide what reduced-precision algorithms do
+        if (precision() == Precision.DOUBLE && BatchedKernel.isSmall(a.rows(), a.cols(), b.cols())) {
+            BatchedKernel.multiply(a, b, result, context());
+        } else {
+            context().parallelFor(a.count(), i -> result.get(i).copyFrom(multiply(a.get(i), b.get(i))));
+        }
+        return result;
+    }
+
+    /**
+     * Multiply every pair a[i] * b[i]. Batches of equally shaped pairs go through
+     * {@link #multiplyBatch(MatrixBatch, MatrixBatch)} and come back as views of one
+     * shared result buffer; mixed shapes are multiplied one product per task of {@link #context()}.
+     */
+    default DenseMatrix[] multiplyBatch(DenseMatrix[] a, DenseMatrix[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Batch sizes differ: " + a.length + " and " + b.length);
+        }
+
+        DenseMatrix[] results = new DenseMatrix[a.length];
+        boolean uniform = true;
+        for (int i = 0; i < a.length && uniform; i++) {
+            uniform = a[i].rows() == a[0].rows() && a[i].cols() == a[0].cols()
+                    && b[i].rows() == b[0].rows() && b[i].cols() == b[0].cols();
+        }
+
+        if (uniform && a.length > 0) {
+            MatrixBatch product = multiplyBatch(MatrixBatch.of(a), MatrixBatch.of(b));
+            for (int i = 0; i < results.length; i++) {
+                results[i] = product.get(i);
+            }
+        } else {
+            context().parallelFor(a.length, i -> results[i] = multiply(a[i], b[i]));
+        }
+        return results;
+    }
+
+    /**
+     * This algorithm with every call recorded into {@link org.example.Metrics.Metrics} while metrics are enabled
+     */
+    default AbstractMatrixMultiplicationAlgorithm instrumented() {
+        return new InstrumentedMultiplication(this);
+    }
+
     /**
      * Get the name of the algorithm
      */
     String getName();
 
+    /**
+     * Precision the algorithm computes in, which sets the error {@link #test} tolerates
+     */
+    default Precision precision() {
+        return Precision.DOUBLE;
+    }
+
     /**
      * Check if matrices are valid for multiplication (columns of A = rows of B)
      */
@@ -33,6 +244,48 @@ public interface AbstractMatrixMultiplicationAlgorithm {
         return a[0].length == b.length;
     }
 
+    /**
+     * Check if flat matrices are valid for multiplication (columns of A = rows of B)
+     */
+    default boolean checkIfValidForMultiplication(DenseMatrix a, DenseMatrix b) {
+        return a.cols() == b.rows();
+    }
+
+    /**
+     * Check if flat matrices are valid for multiplying A and B into C (C is rows of A x columns of B)
+     */
+    default boolean checkIfValidForMultiplication(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        return a.cols() == b.rows() && c.rows() == a.rows() && c.cols() == b.cols();
+    }
+
+    /**
+     * Check if A and a prepared operand B are valid for multiplication
+     */
+    default boolean checkIfValidForMultiplication(DenseMatrix a, PreparedOperand b) {
+        return a.cols() == b.rows();
+    }
+
+    /**
+     * Check if A and a prepared operand B are valid for multiplying into C
+     */
+    default boolean checkIfValidForMultiplication(DenseMatrix a, PreparedOperand b, DenseMatrix c) {
+        return a.cols() == b.rows() && c.rows() == a.rows() && c.cols() == b.cols();
+    }
+
+    /**
+     * Check if off-heap matrices are valid for multiplication (columns of A = rows of B)
+     */
+    default boolean checkIfValidForMultiplication(OffHeapMatrix a, OffHeapMatrix b) {
+        return a.cols() == b.rows();
+    }
+
+    /**
+     * Check if off-heap matrices are valid for multiplying A and B into C (C is rows of A x columns of B)
+     */
+    default boolean checkIfValidForMultiplication(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c) {
+        return a.cols() == b.rows() && c.rows() == a.rows() && c.cols() == b.cols();
+    }
+
     /**
      * Default test method to verify the algorithm's correctness
      */
@@ -47,6 +300,7 @@ public interface AbstractMatrixMultiplicationAlgorithm {
         // Calculate the error percentage
         double maxError = 0.0;
         double sumError = 0.0;
+        double maxAbsError = 0.0;
         int rows = expected.length;
         int cols = expected[0].length;
 
@@ -55,6 +309,7 @@ public interface AbstractMatrixMultiplicationAlgorithm {
                 double e = expected[i][j];
                 double act = actual[i][j];
                 double diff = Math.abs(e - act);
+                maxAbsError = Math.max(maxAbsError, diff);
                 double relError = e != 0.0 ? diff / Math.abs(e) * 100.0 : diff * 100.0;
                 maxError = Math.max(maxError, relError);
                 sumError += relError;
@@ -66,8 +321,10 @@ public interface AbstractMatrixMultiplicationAlgorithm {
         System.out.printf("Matrix size: %dx%d%n", a.length, a[0].length);
         System.out.printf("Maximum error: %.4f%%%n", maxError);
         System.out.printf("Average error: %.4f%%%n", avgError);
+        System.out.printf("Maximum absolute error: %.3e%n", maxAbsError);
+        System.out.printf("Tolerance (%s precision): %.0e%%%n", precision(), precision().maxErrorPercent());
 
-        boolean isCorrect = maxError <= 2.0; // 2% error threshold
+        boolean isCorrect = maxError <= precision().maxErrorPercent();
         System.out.println("Result: " + (isCorrect ? "CORRECT" : "INCORRECT"));
         if (!isCorrect) {
             throw new RuntimeException("The Result seems to be wrong, Please verify algorithm");
@@ -86,7 +343,7 @@ public interface AbstractMatrixMultiplicationAlgorithm {
         try {
             var configBuilder = new ConfigurationBuilder()
                     .setScanners(Scanners.SubTypes)
-                    .setUrls(ClasspathHelper.forPackage("org.example.algorithms"));
+                    .setUrls(ClasspathHelper.forPackage(AbstractMatrixMultiplicationAlgorithm.class.getPackageName()));
 
             var reflections = new Reflections(configBuilder);
 
@@ -103,6 +360,11 @@ public interface AbstractMatrixMultiplicationAlgorithm {
                         continue;
                     }
 
+                    // Wrappers around another algorithm are not algorithms of their own
+                    if (clazz == InstrumentedMultiplication.class) {
+                        continue;
+                    }
+
                     var algorithm = clazz.getDeclaredConstructor().newInstance();
                     algorithms.add(algorithm);
                     System.out.println("Algorithm loaded: " + algorithm.getClass().getSimpleName());
@@ -0,0 +1,337 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.PreparedOperand;
+import org.example.MatrixUtils;
+import org.example.Tuning.MicroBenchmark;
+import org.example.Tuning.TuningCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Dispatching multiplication that routes each call to the algorithm measured fastest for its shape
+ *
+ * Calibration times every discovered algorithm, plus extra tile size / parallel
+ * threshold variants of {@link ParallelForkJoinSIMDTiledMultiplication}, on a grid
+ * of (m, n, p) shapes with every dimension one of 8, 64, 256 and 1024. Shapes are
+ * visited from cheapest to most expensive and any candidate that takes over a
+ * millisecond while losing to the leader by more than {@link #PRUNE_FACTOR} is
+ * dropped for the remaining, larger shapes, so hopeless candidates (thread per
+ * element and the like) are only timed on tiny inputs. A candidate that throws is
+ * dropped right away; calibration fails if no candidate is left for a shape.
+ *
+ * Each call is routed to the winner of the nearest grid shape in log space. The
+ * resulting profile (shape -> algorithm name) is persisted to a properties file,
+ * by default the "dispatch" entry of the {@link TuningCache} for this hardware, and
+ * loaded on later starts instead of calibrating again. Calibration happens lazily
+ * on the first multiplication unless a profile was loaded.
+ *
+ * Flat operands are checked for sparsity before routing by shape: if either one is
+ * at most {@link ParallelSparseMultiplication#DEFAULT_MAX_DENSITY} nonzero the call
+ * goes to the sparse kernels, whose cost follows the nonzeros instead of the shape.
+ * Matrix-vector and vector-matrix products skip both checks and go straight to the
+ * bandwidth-bound kernels of {@link #multiplyVector}. Only {@link Precision#DOUBLE}
+ * algorithms are candidates.
+ */
+public class AutoTunedDispatchMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    /**
+     * System property overriding the profile file used by the no-argument constructor
+     */
+    public static final String PROFILE_PROPERTY = "matrices.dispatch.profile";
+
+    // The 1024 point keeps large products from being routed by what won at 256, where caches still hold everything
+    private static final int[] GRID = {8, 64, 256, 1024};
+    private static final int[] TILE_SIZE_CANDIDATES = {32, 64, 128};
+    private static final int[] PARALLEL_THRESHOLD_CANDIDATES = {64, 128, 256};
+    private static final double PRUNE_FACTOR = 20.0;
+    private static final long PRUNE_MIN_NANOS = 1_000_000L;
+    private static final int MIN_REPETITIONS = 3;
+    private static final long WARMUP_NANOS_PER_CANDIDATE = 10_000_000L;
+    private static final long TARGET_NANOS_PER_CANDIDATE = 20_000_000L;
+    private static final long FAILED = Long.MAX_VALUE;
+
+    private final Path profilePath;
+    private final Map<String, AbstractMatrixMultiplicationAlgorithm> candidates = new LinkedHashMap<>();
+    private final ParallelSparseMultiplication sparse = new ParallelSparseMultiplication();
+    private volatile List<Route> routes;
+
+    public AutoTunedDispatchMultiplication() {
+        this(System.getProperty(PROFILE_PROPERTY) != null
+                ? Path.of(System.getProperty(PROFILE_PROPERTY))
+                : TuningCache.defaultCache().file("dispatch"));
+    }
+
+    /**
+     * @param profilePath file to load the routing profile from, and to save it to after
+     *                    calibration; null to always calibrate in memory
+     */
+    public AutoTunedDispatchMultiplication(Path profilePath) {
+        this.profilePath = profilePath;
+    }
+
+    @Override
+    public String getName() {
+        return "Auto Tuned Dispatch Multiplication";
+    }
+
+    /**
+     * Vector products and batches are not routed by shape and run on the shared pool
+     */
+    @Override
+    public ExecutionContext context() {
+        return ExecutionContext.sharedPool();
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return select(a.length, a[0].length, b[0].length).multiply(a, b);
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
+        }
+        if (sparse.prefersSparse(a, b)) {
+            return sparse.multiply(a, b);
+        }
+        return select(a.rows(), a.cols(), b.cols()).multiply(a, b);
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            multiplyVector(a, b, c, alpha, beta);
+            return;
+        }
+        if (sparse.prefersSparse(a, b)) {
+            sparse.multiplyInto(a, b, c, alpha, beta);
+            return;
+        }
+        select(a.rows(), a.cols(), b.cols()).multiplyInto(a, b, c, alpha, beta);
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return select(a.rows(), a.cols(), b.cols()).multiply(a, b);
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, PreparedOperand b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        select(a.rows(), a.cols(), b.cols()).multiplyInto(a, b, c, alpha, beta);
+    }
+
+    /**
+     * The algorithm calls of shape (m x n) * (n x p) are routed to
+     */
+    public AbstractMatrixMultiplicationAlgorithm select(int m, int n, int p) {
+        Route best = null;
+        double bestDistance = Double.MAX_VALUE;
+
+        for (Route route : routes()) {
+            double distance = Math.abs(log2(m) - log2(route.m))
+                    + Math.abs(log2(n) - log2(route.n))
+                    + Math.abs(log2(p) - log2(route.p));
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = route;
+            }
+        }
+        return best.algorithm;
+    }
+
+    /**
+     * Time every candidate on the shape grid and rebuild the routing table, saving it
+     * to the profile file if one was configured
+     *
+     * @throws IllegalStateException if every remaining candidate fails on some shape
+     */
+    public synchronized void calibrate() {
+        System.out.println("Calibrating " + getName() + " on " + GRID.length * GRID.length * GRID.length + " shapes...");
+        loadCandidates();
+
+        List<int[]> shapes = new ArrayList<>();
+        for (int m : GRID) {
+            for (int n : GRID) {
+                for (int p : GRID) {
+                    shapes.add(new int[]{m, n, p});
+                }
+            }
+        }
+        shapes.sort((x, y) -> Long.compare((long) x[0] * x[1] * x[2], (long) y[0] * y[1] * y[2]));
+
+        List<AbstractMatrixMultiplicationAlgorithm> alive = new ArrayList<>(candidates.values());
+        List<Route> calibrated = new ArrayList<>();
+
+        for (int[] shape : shapes) {
+            DenseMatrix a = MatrixUtils.randomDense(shape[0], shape[1]);
+            DenseMatrix b = MatrixUtils.randomDense(shape[1], shape[2]);
+
+            long[] times = new long[alive.size()];
+            long bestTime = Long.MAX_VALUE;
+            AbstractMatrixMultiplicationAlgorithm winner = null;
+
+            for (int i = 0; i < alive.size(); i++) {
+                times[i] = measure(alive.get(i), a, b);
+                if (times[i] < bestTime) {
+                    bestTime = times[i];
+                    winner = alive.get(i);
+                }
+            }
+
+            List<AbstractMatrixMultiplicationAlgorithm> survivors = new ArrayList<>();
+            for (int i = 0; i < alive.size(); i++) {
+                if (times[i] != FAILED && (times[i] <= bestTime * PRUNE_FACTOR || times[i] < PRUNE_MIN_NANOS)) {
+                    survivors.add(alive.get(i));
+                }
+            }
+            alive = survivors;
+
+            if (winner == null) {
+                throw new IllegalStateException("Dispatch calibration failed: no candidate algorithm could multiply "
+                        + shape[0] + "x" + shape[1] + " by " + shape[1] + "x" + shape[2]);
+            }
+
+            calibrated.add(new Route(shape[0], shape[1], shape[2], winner));
+            System.out.printf("  %dx%dx%d -> %s (%.3f ms)%n", shape[0], shape[1], shape[2],
+                    winner.getName(), bestTime / 1e6);
+        }
+
+        routes = calibrated;
+        if (profilePath != null) {
+            saveProfile(profilePath);
+        }
+    }
+
+    /**
+     * Write the current routing table as shape -> algorithm name properties
+     */
+    public void saveProfile(Path path) {
+        Properties properties = new Properties();
+        for (Route route : routes()) {
+            properties.setProperty(route.m + "x" + route.n + "x" + route.p, route.algorithm.getName());
+        }
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(path)) {
+                properties.store(out, "Routing profile for " + getName());
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save dispatch profile to " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the routing table with one read from a profile file
+     *
+     * @return false if the file is missing, unreadable or names an unknown algorithm
+     */
+    public synchronized boolean loadProfile(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        loadCandidates();
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Failed to read dispatch profile " + path + ": " + e.getMessage());
+            return false;
+        }
+
+        List<Route> loaded = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            String[] dims = key.split("x");
+            AbstractMatrixMultiplicationAlgorithm algorithm = candidates.get(properties.getProperty(key));
+            if (dims.length != 3 || algorithm == null) {
+                System.err.println("Ignoring stale dispatch profile " + path + ": unknown entry " + key);
+                return false;
+            }
+            loaded.add(new Route(Integer.parseInt(dims[0]), Integer.parseInt(dims[1]), Integer.parseInt(dims[2]), algorithm));
+        }
+        if (loaded.isEmpty()) {
+            return false;
+        }
+
+        routes = loaded;
+        return true;
+    }
+
+    private List<Route> routes() {
+        List<Route> current = routes;
+        if (current == null) {
+            synchronized (this) {
+                if (routes == null && (profilePath == null || !loadProfile(profilePath))) {
+                    calibrate();
+                }
+                current = routes;
+            }
+        }
+        return current;
+    }
+
+    private void loadCandidates() {
+        if (!candidates.isEmpty()) {
+            return;
+        }
+
+        for (AbstractMatrixMultiplicationAlgorithm algorithm : AbstractMatrixMultiplicationAlgorithm.discoverAlgorithms()) {
+            // Sparse inputs are routed before the shape lookup, so the sparse algorithm is not a shape candidate.
+            // Reduced-precision algorithms are opt-in: the dispatcher must not trade accuracy for speed.
+            if (!(algorithm instanceof AutoTunedDispatchMultiplication) && !(algorithm instanceof ParallelSparseMultiplication)
+                    && algorithm.precision() == Precision.DOUBLE) {
+                candidates.put(algorithm.getName(), algorithm);
+            }
+        }
+
+        // Tuning variants of the tiled kernel; the default combination is already discovered
+        for (int tileSize : TILE_SIZE_CANDIDATES) {
+            for (int threshold : PARALLEL_THRESHOLD_CANDIDATES) {
+                var variant = new ParallelForkJoinSIMDTiledMultiplication(tileSize, threshold);
+                candidates.putIfAbsent(variant.getName(), variant);
+            }
+        }
+    }
+
+    private static long measure(AbstractMatrixMultiplicationAlgorithm algorithm, DenseMatrix a, DenseMatrix b) {
+        try {
+            return MicroBenchmark.bestTimeNanos(() -> algorithm.multiply(a, b),
+                    WARMUP_NANOS_PER_CANDIDATE, MIN_REPETITIONS, TARGET_NANOS_PER_CANDIDATE);
+        } catch (RuntimeException e) {
+            System.err.println("Excluding " + algorithm.getName() + " from dispatch: " + e.getMessage());
+            return FAILED;
+        }
+    }
+
+    private static double log2(int value) {
+        return Math.log(Math.max(1, value)) / Math.log(2);
+    }
+
+    private record Route(int m, int n, int p, AbstractMatrixMultiplicationAlgorithm algorithm) {
+    }
+}
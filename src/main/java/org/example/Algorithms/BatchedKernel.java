@@ -0,0 +1,113 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.MatrixBatch;
+
+/**
+ * Batched multiplication of many small matrices, vectorized across the batch
+ *
+ * The batch is cut into groups of LANES products. Each group's operands are
+ * interleaved so that element (i, k) of all LANES matrices of A sits in one vector,
+ * and likewise for B; one vector FMA then advances LANES independent products at
+ * once, with no horizontal reductions and no dependence on how small the matrices
+ * are. Groups are spread over an {@link ExecutionContext}, each product staying on
+ * a single thread, so there is no transposing, allocating or forking per product.
+ */
+final class BatchedKernel {
+
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    static final int LANES = SPECIES.length();
+
+    // Products up to this many multiply-adds go through the interleaved kernel (33^3 fits)
+    static final long SMALL_PRODUCT_FLOPS = 64L * 64 * 64;
+
+    // Groups handed to one parallel task, so scheduling cost is amortized over several groups
+    private static final int GROUPS_PER_TASK = 16;
+
+    // Per-thread interleaved operands and result of one group, grown on demand
+    private static final ThreadLocal<double[][]> SCRATCH = ThreadLocal.withInitial(() -> new double[3][0]);
+
+    private BatchedKernel() {
+    }
+
+    static boolean isSmall(int m, int n, int p) {
+        return (long) m * n * p <= SMALL_PRODUCT_FLOPS;
+    }
+
+    /**
+     * c[b] = a[b] * b[b] for every matrix of the batch
+     */
+    static void multiply(MatrixBatch a, MatrixBatch b, MatrixBatch c, ExecutionContext context) {
+        int groups = (a.count() + LANES - 1) / LANES;
+        int tasks = (groups + GROUPS_PER_TASK - 1) / GROUPS_PER_TASK;
+
+        context.parallelFor(tasks, task -> {
+            int groupEnd = Math.min(groups, (task + 1) * GROUPS_PER_TASK);
+            for (int group = task * GROUPS_PER_TASK; group < groupEnd; group++) {
+                multiplyGroup(a, b, c, group * LANES);
+            }
+        });
+    }
+
+    private static void multiplyGroup(MatrixBatch a, MatrixBatch b, MatrixBatch c, int first) {
+        int m = a.rows(), n = a.cols(), p = b.cols();
+        int lanes = Math.min(LANES, a.count() - first);
+
+        double[][] scratch = SCRATCH.get();
+        double[] packedA = scratch(scratch, 0, m * n * LANES);
+        double[] packedB = scratch(scratch, 1, n * p * LANES);
+        double[] packedC = scratch(scratch, 2, m * p * LANES);
+
+        interleave(a, first, lanes, packedA);
+        interleave(b, first, lanes, packedB);
+
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < p; j++) {
+                DoubleVector sum = DoubleVector.zero(SPECIES);
+                for (int k = 0; k < n; k++) {
+                    DoubleVector av = DoubleVector.fromArray(SPECIES, packedA, (i * n + k) * LANES);
+                    DoubleVector bv = DoubleVector.fromArray(SPECIES, packedB, (k * p + j) * LANES);
+                    sum = av.fma(bv, sum);
+                }
+                sum.intoArray(packedC, (i * p + j) * LANES);
+            }
+        }
+
+        double[] cData = c.data();
+        int size = m * p;
+        for (int lane = 0; lane < lanes; lane++) {
+            int dst = c.offset(first + lane);
+            for (int e = 0, src = lane; e < size; e++, src += LANES) {
+                cData[dst + e] = packedC[src];
+            }
+        }
+    }
+
+    /**
+     * Element e of matrix first + lane goes to packed[e * LANES + lane]; unused lanes are zeroed
+     */
+    private static void interleave(MatrixBatch batch, int first, int lanes, double[] packed) {
+        double[] data = batch.data();
+        int size = batch.rows() * batch.cols();
+
+        for (int lane = 0; lane < lanes; lane++) {
+            int src = batch.offset(first + lane);
+            for (int e = 0, dst = lane; e < size; e++, dst += LANES) {
+                packed[dst] = data[src + e];
+            }
+        }
+        for (int lane = lanes; lane < LANES; lane++) {
+            for (int e = 0, dst = lane; e < size; e++, dst += LANES) {
+                packed[dst] = 0.0;
+            }
+        }
+    }
+
+    private static double[] scratch(double[][] scratch, int slot, int length) {
+        if (scratch[slot].length < length) {
+            scratch[slot] = new double[length];
+        }
+        return scratch[slot];
+    }
+}
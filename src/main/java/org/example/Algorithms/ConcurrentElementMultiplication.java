@@ -1,9 +1,21 @@
 package org.example.Algorithms;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.example.Execution.ExecutionContext;
 
+/**
+ * One task per result element, run on an {@link ExecutionContext}
+ */
 public class ConcurrentElementMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+    private final ExecutionContext context;
+
+    public ConcurrentElementMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ConcurrentElementMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
     @Override
     public double[][] multiply(double[][] a, double[][] b) {
         assert a[0].length == b.length;
@@ -11,37 +23,29 @@ public class ConcurrentElementMultiplication implements AbstractMatrixMultiplica
         int m = a.length, n = a[0].length, p = b[0].length;
         double[][] result = new double[m][p];
 
-        List<Thread> threads = new ArrayList<>();
-
-        for (int i = 0; i < m; i++) {
-            for (int j = 0; j < p; j++) {
-                final int row = i;
-                final int col = j;
-
-                Thread t = new Thread(() -> {
-                    double sum = 0.0;
-                    for (int k = 0; k < n; k++) {
-                        sum += a[row][k] * b[k][col];
-                    }
-                    result[row][col] = sum;
-                });
-
-                threads.add(t);
-                t.start();
+        context.parallelFor(m * p, element -> {
+            int row = element / p;
+            int col = element % p;
+            double sum = 0.0;
+            for (int k = 0; k < n; k++) {
+                sum += a[row][k] * b[k][col];
             }
-        }
-
-        for (Thread t : threads) {
-            try {
-                t.join();
-            } catch (InterruptedException ignored) {}
-        }
+            result[row][col] = sum;
+        });
 
         return result;
     }
 
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
     @Override
     public String getName() {
-        return "Concurrent Element Multiplication";
+        if (context == ExecutionContext.sharedPool()) {
+            return "Concurrent Element Multiplication";
+        }
+        return "Concurrent Element Multiplication (" + context.getName() + ")";
     }
 }
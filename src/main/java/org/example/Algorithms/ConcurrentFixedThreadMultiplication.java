@@ -1,18 +1,36 @@
 package org.example.Algorithms;
 
+import org.example.Execution.ExecutionContext;
+
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * A fixed number of workers pulling rows from a shared counter, run on an {@link ExecutionContext}
+ */
 public class ConcurrentFixedThreadMultiplication implements AbstractMatrixMultiplicationAlgorithm {
     private final int threadCount;
+    private final ExecutionContext context;
 
     public ConcurrentFixedThreadMultiplication(int threadCount) {
+        this(threadCount, ExecutionContext.sharedPool());
+    }
+
+    public ConcurrentFixedThreadMultiplication(int threadCount, ExecutionContext context) {
         this.threadCount = threadCount;
+        this.context = context;
     }
 
     public ConcurrentFixedThreadMultiplication() {
         this(Runtime.getRuntime().availableProcessors()); // Use available cores
     }
 
+    /**
+     * Number of row-pulling workers per multiplication
+     */
+    public int threadCount() {
+        return threadCount;
+    }
+
     @Override
     public double[][] multiply(double[][] a, double[][] b) {
         assert a[0].length == b.length;
@@ -20,36 +38,35 @@ public class ConcurrentFixedThreadMultiplication implements AbstractMatrixMultip
         int m = a.length, n = a[0].length, p = b[0].length;
         double[][] result = new double[m][p];
 
-        Thread[] threads = new Thread[threadCount];
         AtomicInteger rowIndex = new AtomicInteger(0);
 
-        for (int t = 0; t < threadCount; t++) {
-            threads[t] = new Thread(() -> {
-                int i;
-                while ((i = rowIndex.getAndIncrement()) < m) {
-                    for (int j = 0; j < p; j++) {
-                        double sum = 0.0;
-                        for (int k = 0; k < n; k++) {
-                            sum += a[i][k] * b[k][j];
-                        }
-                        result[i][j] = sum;
+        context.parallelFor(threadCount, worker -> {
+            int i;
+            while ((i = rowIndex.getAndIncrement()) < m) {
+                context.checkpoint();
+                for (int j = 0; j < p; j++) {
+                    double sum = 0.0;
+                    for (int k = 0; k < n; k++) {
+                        sum += a[i][k] * b[k][j];
                     }
+                    result[i][j] = sum;
                 }
-            });
-            threads[t].start();
-        }
-
-        for (Thread t : threads) {
-            try {
-                t.join();
-            } catch (InterruptedException ignored) {}
-        }
+            }
+        });
 
         return result;
     }
 
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
     @Override
     public String getName() {
-        return "Concurrent Fixed Thread Multiplication (" + threadCount + " threads)";
+        if (context == ExecutionContext.sharedPool()) {
+            return "Concurrent Fixed Thread Multiplication (" + threadCount + " threads)";
+        }
+        return "Concurrent Fixed Thread Multiplication (" + threadCount + " threads, " + context.getName() + ")";
     }
 }
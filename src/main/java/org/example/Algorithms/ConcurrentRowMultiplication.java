@@ -1,6 +1,21 @@
 package org.example.Algorithms;
 
+import org.example.Execution.ExecutionContext;
+
+/**
+ * One task per result row, run on an {@link ExecutionContext}
+ */
 public class ConcurrentRowMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+    private final ExecutionContext context;
+
+    public ConcurrentRowMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ConcurrentRowMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
     @Override
     public double[][] multiply(double[][] a, double[][] b) {
         assert a[0].length == b.length;
@@ -8,33 +23,29 @@ public class ConcurrentRowMultiplication implements AbstractMatrixMultiplication
         int m = a.length, n = a[0].length, p = b[0].length;
         double[][] result = new double[m][p];
 
-        Thread[] threads = new Thread[m];
-
-        for (int i = 0; i < m; i++) {
-            final int row = i;
-            threads[i] = new Thread(() -> {
-                for (int j = 0; j < p; j++) {
-                    double sum = 0.0;
-                    for (int k = 0; k < n; k++) {
-                        sum += a[row][k] * b[k][j];
-                    }
-                    result[row][j] = sum;
+        context.parallelFor(m, row -> {
+            for (int j = 0; j < p; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < n; k++) {
+                    sum += a[row][k] * b[k][j];
                 }
-            });
-            threads[i].start();
-        }
-
-        for (Thread t : threads) {
-            try {
-                t.join();
-            } catch (InterruptedException ignored) {}
-        }
+                result[row][j] = sum;
+            }
+        });
 
         return result;
     }
 
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
     @Override
     public String getName() {
-        return "Concurrent Row Multiplication";
+        if (context == ExecutionContext.sharedPool()) {
+            return "Concurrent Row Multiplication";
+        }
+        return "Concurrent Row Multiplication (" + context.getName() + ")";
     }
 }
@@ -0,0 +1,115 @@
+package org.example.Algorithms;
+
+import org.example.Distributed.BlockRequest;
+import org.example.Distributed.Transport;
+import org.example.Matrices.DenseMatrix;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Blocked multiplication spread over the workers of a {@link Transport}
+ *
+ * SUMMA-style: C is cut into blockSize x blockSize blocks, dealt out to the workers
+ * cyclically so that neighbouring blocks land on different workers, and each worker
+ * keeps its blocks as accumulators. For every step k along the inner dimension the
+ * coordinator sends A(i, k) and B(k, j) to the owner of C(i, j), which multiplies
+ * them into its accumulator with an ordinary in-process algorithm. All steps are
+ * sent up front and pipelined; once every worker has acknowledged them the blocks
+ * of C are fetched and assembled. Each A block travels once per block column of C
+ * and each B block once per block row, as in SUMMA's row and column broadcasts.
+ */
+public class DistributedMultiplication {
+
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+
+    private static final AtomicLong JOBS = new AtomicLong();
+
+    private final Transport transport;
+    private final int blockSize;
+
+    public DistributedMultiplication(Transport transport) {
+        this(transport, DEFAULT_BLOCK_SIZE);
+    }
+
+    public DistributedMultiplication(Transport transport, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.transport = transport;
+        this.blockSize = blockSize;
+    }
+
+    public String getName() {
+        return "Distributed Multiplication (" + transport.getName() + ", block " + blockSize + ")";
+    }
+
+    /**
+     * Worker that owns block (i, j) of a C with the given number of block columns
+     */
+    public int owner(int blockRow, int blockCol, int blockCols) {
+        return (int) (((long) blockRow * blockCols + blockCol) % transport.workers());
+    }
+
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) throws IOException {
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Invalid matrices for multiplication: " + a + " * " + b);
+        }
+
+        int m = a.rows();
+        int n = a.cols();
+        int p = b.cols();
+        DenseMatrix result = new DenseMatrix(m, p);
+        if (m == 0 || p == 0 || n == 0) {
+            return result;
+        }
+
+        int blockRows = (m + blockSize - 1) / blockSize;
+        int blockCols = (p + blockSize - 1) / blockSize;
+        int steps = (n + blockSize - 1) / blockSize;
+        long job = JOBS.incrementAndGet();
+
+        try {
+            List<CompletableFuture<DenseMatrix>> sent = new ArrayList<>();
+            for (int k = 0; k < steps; k++) {
+                int kStart = k * blockSize;
+                int depth = Math.min(blockSize, n - kStart);
+
+                for (int i = 0; i < blockRows; i++) {
+                    int rowStart = i * blockSize;
+                    DenseMatrix aBlock = a.view(rowStart, kStart, Math.min(blockSize, m - rowStart), depth);
+
+                    for (int j = 0; j < blockCols; j++) {
+                        int colStart = j * blockSize;
+                        DenseMatrix bBlock = b.view(kStart, colStart, depth, Math.min(blockSize, p - colStart));
+                        sent.add(transport.send(owner(i, j, blockCols), BlockRequest.accumulate(job, i, j, aBlock, bBlock)));
+                    }
+                }
+            }
+            CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new)).join();
+
+            List<CompletableFuture<DenseMatrix>> fetched = new ArrayList<>();
+            for (int i = 0; i < blockRows; i++) {
+                for (int j = 0; j < blockCols; j++) {
+                    fetched.add(transport.send(owner(i, j, blockCols), BlockRequest.fetch(job, i, j)));
+                }
+            }
+            for (int i = 0; i < blockRows; i++) {
+                for (int j = 0; j < blockCols; j++) {
+                    DenseMatrix block = fetched.get(i * blockCols + j).join();
+                    result.view(i * blockSize, j * blockSize, block.rows(), block.cols()).copyFrom(block);
+                }
+            }
+        } catch (CompletionException e) {
+            for (int w = 0; w < transport.workers(); w++) {
+                transport.send(w, BlockRequest.release(job));
+            }
+            throw new IOException("Distributed multiplication failed", e.getCause());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.FloatMatrix;
+import org.example.Matrices.MatrixBatch;
+import org.example.Matrices.OffHeapMatrix;
+import org.example.Matrices.PreparedOperand;
+import org.example.Metrics.AlgorithmMetrics;
+import org.example.Metrics.Metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps an algorithm and records every call into {@link Metrics} under the algorithm's name
+ *
+ * Latency, achieved GFLOP/s and allocated bytes are recorded per call. Work the
+ * wrapped algorithm does inside one call (the tiles of a tiled algorithm) is part of
+ * that call's record. multiplyChain and a mixed-shape multiplyBatch are not forwarded
+ * but run through this wrapper's multiply, so each of their pairs is a record of its
+ * own; a batch of equally shaped pairs is one record with its pair count. The
+ * allocated bytes are those of the calling thread only: whatever the algorithm
+ * allocates on pool threads is not counted. While metrics are disabled each call
+ * goes straight to the wrapped algorithm after one volatile read.
+ */
+public class InstrumentedMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private final AbstractMatrixMultiplicationAlgorithm delegate;
+    private volatile AlgorithmMetrics metrics;
+
+    public InstrumentedMultiplication(AbstractMatrixMultiplicationAlgorithm delegate) {
+        this.delegate = delegate;
+    }
+
+    public AbstractMatrixMultiplicationAlgorithm delegate() {
+        return delegate;
+    }
+
+    public AlgorithmMetrics metrics() {
+        AlgorithmMetrics current = metrics;
+        if (current == null) {
+            metrics = current = Metrics.algorithm(getName());
+        }
+        return current;
+    }
+
+    @Override
+    public AbstractMatrixMultiplicationAlgorithm instrumented() {
+        return this;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        if (!Metrics.isEnabled()) {
+            return delegate.multiply(a, b);
+        }
+        int p = b.length == 0 ? 0 : b[0].length;
+        return measure(a.length, b.length, p, 1, () -> delegate.multiply(a, b));
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        if (!Metrics.isEnabled()) {
+            return delegate.multiply(a, b);
+        }
+        return measure(a.rows(), a.cols(), b.cols(), 1, () -> delegate.multiply(a, b));
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        if (!Metrics.isEnabled()) {
+            delegate.multiplyInto(a, b, c, alpha, beta);
+            return;
+        }
+        measure(a.rows(), a.cols(), b.cols(), 1, () -> {
+            delegate.multiplyInto(a, b, c, alpha, beta);
+            return null;
+        });
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        if (!Metrics.isEnabled()) {
+            return delegate.multiply(a, b);
+        }
+        return measure(a.rows(), a.cols(), b.cols(), 1, () -> delegate.multiply(a, b));
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, PreparedOperand b, DenseMatrix c, double alpha, double beta) {
+        if (!Metrics.isEnabled()) {
+            delegate.multiplyInto(a, b, c, alpha, beta);
+            return;
+        }
+        measure(a.rows(), a.cols(), b.cols(), 1, () -> {
+            delegate.multiplyInto(a, b, c, alpha, beta);
+            return null;
+        });
+    }
+
+    @Override
+    public FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        if (!Metrics.isEnabled()) {
+            return delegate.multiply(a, b);
+        }
+        return measure(a.rows(), a.cols(), b.cols(), 1, () -> delegate.multiply(a, b));
+    }
+
+    @Override
+    public OffHeapMatrix multiply(OffHeapMatrix a, OffHeapMatrix b) {
+        if (!Metrics.isEnabled()) {
+            return delegate.multiply(a, b);
+        }
+        return measure(a.rows(), a.cols(), b.cols(), 1, () -> delegate.multiply(a, b));
+    }
+
+    @Override
+    public void multiplyInto(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c, double alpha, double beta) {
+        if (!Metrics.isEnabled()) {
+            delegate.multiplyInto(a, b, c, alpha, beta);
+            return;
+        }
+        measure(a.rows(), a.cols(), b.cols(), 1, () -> {
+            delegate.multiplyInto(a, b, c, alpha, beta);
+            return null;
+        });
+    }
+
+    @Override
+    public MatrixBatch multiplyBatch(MatrixBatch a, MatrixBatch b) {
+        if (!Metrics.isEnabled()) {
+            return delegate.multiplyBatch(a, b);
+        }
+        return measure(a.rows(), a.cols(), b.cols(), a.count(), () -> delegate.multiplyBatch(a, b));
+    }
+
+    @Override
+    public double estimateCost(int m, int n, int p) {
+        return delegate.estimateCost(m, n, p);
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return delegate.context();
+    }
+
+    @Override
+    public Precision precision() {
+        return delegate.precision();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    private <T> T measure(int m, int n, int p, int count, Supplier<T> call) {
+        long allocatedBefore = Metrics.allocatedBytes();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocatedBefore < 0 ? -1 : Metrics.allocatedBytes() - allocatedBefore;
+            metrics().record(m, n, p, count, elapsed, allocated, failed);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Product of a chain of matrices A0 * A1 * ... * An-1 in the cheapest order
+ *
+ * The classic O(n^3) dynamic program finds the parenthesization with the lowest total
+ * cost, where every pairwise product is priced by
+ * {@link AbstractMatrixMultiplicationAlgorithm#estimateCost} of the algorithm doing
+ * the work. The two operands of a product are computed concurrently through the
+ * execution context when both are themselves products. Intermediate results live in
+ * buffers recycled from products that have already been consumed, so a chain of n
+ * matrices allocates only as many buffers as are alive at the same time.
+ */
+public class MatrixChain {
+
+    /**
+     * Optimal order of a chain: split[i][j] is the index k at which the product of
+     * matrices i..j is divided into (i..k) * (k+1..j)
+     */
+    public record Plan(int[] dims, int[][] split, double cost) {
+
+        public int length() {
+            return dims.length - 1;
+        }
+
+        /**
+         * Parenthesized order, e.g. "(A0 (A1 A2))"
+         */
+        public String order() {
+            StringBuilder builder = new StringBuilder();
+            append(builder, 0, length() - 1);
+            return builder.toString();
+        }
+
+        private void append(StringBuilder builder, int i, int j) {
+            if (i == j) {
+                builder.append('A').append(i);
+                return;
+            }
+            builder.append('(');
+            append(builder, i, split[i][j]);
+            builder.append(' ');
+            append(builder, split[i][j] + 1, j);
+            builder.append(')');
+        }
+
+        @Override
+        public String toString() {
+            return order() + " cost=" + String.format("%.3e", cost);
+        }
+    }
+
+    private final AbstractMatrixMultiplicationAlgorithm algorithm;
+    private final ExecutionContext context;
+
+    public MatrixChain(AbstractMatrixMultiplicationAlgorithm algorithm) {
+        this(algorithm, ExecutionContext.forkJoin());
+    }
+
+    public MatrixChain(AbstractMatrixMultiplicationAlgorithm algorithm, ExecutionContext context) {
+        this.algorithm = algorithm;
+        this.context = context;
+    }
+
+    /**
+     * Plan a chain whose i-th matrix is dims[i] x dims[i + 1]
+     */
+    public Plan plan(int... dims) {
+        int n = dims.length - 1;
+        if (n < 1) {
+            throw new IllegalArgumentException("A chain needs at least one matrix");
+        }
+
+        double[][] cost = new double[n][n];
+        int[][] split = new int[n][n];
+
+        for (int length = 2; length <= n; length++) {
+            for (int i = 0; i + length - 1 < n; i++) {
+                int j = i + length - 1;
+                cost[i][j] = Double.POSITIVE_INFINITY;
+                for (int k = i; k < j; k++) {
+                    double candidate = cost[i][k] + cost[k + 1][j]
+                            + algorithm.estimateCost(dims[i], dims[k + 1], dims[j + 1]);
+                    if (candidate < cost[i][j]) {
+                        cost[i][j] = candidate;
+                        split[i][j] = k;
+                    }
+                }
+            }
+        }
+        return new Plan(dims.clone(), split, cost[0][n - 1]);
+    }
+
+    /**
+     * Plan the chain of the given matrices
+     */
+    public Plan plan(DenseMatrix... matrices) {
+        return plan(dimensions(matrices));
+    }
+
+    /**
+     * Cost of multiplying the chain in written order, ((A0 A1) A2) ..., for comparison with a plan
+     */
+    public double leftToRightCost(int... dims) {
+        double cost = 0.0;
+        for (int k = 2; k < dims.length; k++) {
+            cost += algorithm.estimateCost(dims[0], dims[k - 1], dims[k]);
+        }
+        return cost;
+    }
+
+    /**
+     * Multiply the chain in its optimal order
+     */
+    public DenseMatrix multiply(DenseMatrix... matrices) {
+        Plan plan = plan(matrices);
+        if (matrices.length == 1) {
+            return matrices[0].copy();
+        }
+
+        int last = matrices.length - 1;
+        DenseMatrix result = new DenseMatrix(matrices[0].rows(), matrices[last].cols());
+        Buffers buffers = new Buffers();
+        int k = plan.split()[0][last];
+
+        DenseMatrix[] operands = new DenseMatrix[2];
+        computeOperands(plan, matrices, 0, k, last, operands, buffers);
+        algorithm.multiplyInto(operands[0], operands[1], result);
+        return result;
+    }
+
+    /**
+     * Compute the product of matrices i..j into a recycled buffer, or return the matrix itself for i == j
+     */
+    private DenseMatrix compute(Plan plan, DenseMatrix[] matrices, int i, int j, Buffers buffers) {
+        if (i == j) {
+            return matrices[i];
+        }
+
+        int k = plan.split()[i][j];
+        DenseMatrix[] operands = new DenseMatrix[2];
+        computeOperands(plan, matrices, i, k, j, operands, buffers);
+
+        DenseMatrix result = buffers.acquire(matrices[i].rows(), matrices[j].cols());
+        algorithm.multiplyInto(operands[0], operands[1], result);
+
+        // The operands are consumed: hand their buffers to the products still to come
+        if (i != k) {
+            buffers.release(operands[0]);
+        }
+        if (k + 1 != j) {
+            buffers.release(operands[1]);
+        }
+        return result;
+    }
+
+    /**
+     * operands = {product of i..k, product of k+1..j}, in parallel when both are products
+     */
+    private void computeOperands(Plan plan, DenseMatrix[] matrices, int i, int k, int j,
+                                 DenseMatrix[] operands, Buffers buffers) {
+        if (i != k && k + 1 != j) {
+            context.parallelFor(2, side -> operands[side] = side == 0
+                    ? compute(plan, matrices, i, k, buffers)
+                    : compute(plan, matrices, k + 1, j, buffers));
+        } else {
+            operands[0] = compute(plan, matrices, i, k, buffers);
+            operands[1] = compute(plan, matrices, k + 1, j, buffers);
+        }
+    }
+
+    private static int[] dimensions(DenseMatrix[] matrices) {
+        if (matrices.length == 0) {
+            throw new IllegalArgumentException("A chain needs at least one matrix");
+        }
+
+        int[] dims = new int[matrices.length + 1];
+        dims[0] = matrices[0].rows();
+        for (int i = 0; i < matrices.length; i++) {
+            if (matrices[i].rows() != dims[i]) {
+                throw new IllegalArgumentException("Invalid chain: matrix " + (i - 1) + " is " + matrices[i - 1]
+                        + " but matrix " + i + " is " + matrices[i]);
+            }
+            dims[i + 1] = matrices[i].cols();
+        }
+        return dims;
+    }
+
+    /**
+     * Released intermediate arrays, handed out again to any product that fits in them
+     */
+    private static final class Buffers {
+        private final Deque<double[]> free = new ArrayDeque<>();
+
+        synchronized DenseMatrix acquire(int rows, int cols) {
+            int size = Math.multiplyExact(rows, cols);
+            List<double[]> tooSmall = new ArrayList<>();
+            double[] data = null;
+            while (!free.isEmpty()) {
+                double[] candidate = free.pop();
+                if (candidate.length >= size) {
+                    data = candidate;
+                    break;
+                }
+                tooSmall.add(candidate);
+            }
+            tooSmall.forEach(free::push);
+            return DenseMatrix.wrap(data != null ? data : new double[size], rows, cols);
+        }
+
+        synchronized void release(DenseMatrix matrix) {
+            free.push(matrix.data());
+        }
+    }
+}
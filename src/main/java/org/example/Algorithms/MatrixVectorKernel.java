@@ -0,0 +1,244 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Matrix-vector (GEMV) and vector-matrix (GEVM) kernels behind
+ * {@link AbstractMatrixMultiplicationAlgorithm#multiplyVector}
+ *
+ * With one vector operand every element of the matrix operand is used exactly once,
+ * so the product is bound by memory bandwidth, not arithmetic. Both kernels stream
+ * the matrix once in its own row-major order, never transpose or pack it, and keep
+ * the vector (GEMV) or a block of the result (GEVM) in L1 while doing so.
+ */
+final class MatrixVectorKernel {
+
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // Below this many matrix elements the product runs on the calling thread
+    private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+    // Result columns per GEVM task: 4KB of the result row stays in L1 across all of B
+    private static final int COLUMN_BLOCK = 512;
+
+    private MatrixVectorKernel() {
+    }
+
+    /**
+     * True if B has one column or A has one row
+     */
+    static boolean isVectorProduct(DenseMatrix a, DenseMatrix b) {
+        return b.cols() == 1 || a.rows() == 1;
+    }
+
+    /**
+     * C = alpha * A * B + beta * C for a vector product
+     */
+    static void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta,
+                             ExecutionContext context) {
+        if (b.cols() == 1) {
+            gemv(a, b, c, alpha, beta, context);
+        } else {
+            gevm(a, b, c, alpha, beta, context);
+        }
+    }
+
+    /**
+     * c = alpha * A * x + beta * c for a column vector x, parallel over rows of A.
+     * Four rows share every load of x.
+     */
+    private static void gemv(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta,
+                             ExecutionContext context) {
+        int rows = a.rows();
+        int n = a.cols();
+
+        // A strided column (a view into a wider matrix) is gathered once so x loads are contiguous
+        double[] x;
+        int xOffset;
+        if (b.stride() == 1 || n <= 1) {
+            x = b.data();
+            xOffset = b.offset();
+        } else {
+            x = new double[n];
+            xOffset = 0;
+            for (int k = 0; k < n; k++) {
+                x[k] = b.get(k, 0);
+            }
+        }
+
+        int taskCount = taskCount((long) rows * n, rows, context);
+        int rowsPerTask = (rows + taskCount - 1) / Math.max(1, taskCount);
+
+        run(taskCount, context, t -> {
+            int start = t * rowsPerTask;
+            int end = Math.min(rows, start + rowsPerTask);
+            gemvRows(a, x, xOffset, c, alpha, beta, start, end);
+        });
+    }
+
+    private static void gemvRows(DenseMatrix a, double[] x, int xOffset, DenseMatrix c,
+                                 double alpha, double beta, int start, int end) {
+        double[] aData = a.data();
+        double[] cData = c.data();
+        int n = a.cols();
+        int vectorEnd = SPECIES.loopBound(n);
+        int i = start;
+
+        for (; i + 3 < end; i += 4) {
+            int r0 = a.index(i, 0), r1 = a.index(i + 1, 0), r2 = a.index(i + 2, 0), r3 = a.index(i + 3, 0);
+            DoubleVector acc0 = DoubleVector.zero(SPECIES);
+            DoubleVector acc1 = DoubleVector.zero(SPECIES);
+            DoubleVector acc2 = DoubleVector.zero(SPECIES);
+            DoubleVector acc3 = DoubleVector.zero(SPECIES);
+            int k = 0;
+
+            for (; k < vectorEnd; k += SPECIES.length()) {
+                DoubleVector xv = DoubleVector.fromArray(SPECIES, x, xOffset + k);
+                acc0 = DoubleVector.fromArray(SPECIES, aData, r0 + k).fma(xv, acc0);
+                acc1 = DoubleVector.fromArray(SPECIES, aData, r1 + k).fma(xv, acc1);
+                acc2 = DoubleVector.fromArray(SPECIES, aData, r2 + k).fma(xv, acc2);
+                acc3 = DoubleVector.fromArray(SPECIES, aData, r3 + k).fma(xv, acc3);
+            }
+            double s0 = acc0.reduceLanes(VectorOperators.ADD);
+            double s1 = acc1.reduceLanes(VectorOperators.ADD);
+            double s2 = acc2.reduceLanes(VectorOperators.ADD);
+            double s3 = acc3.reduceLanes(VectorOperators.ADD);
+            for (; k < n; k++) {
+                double xk = x[xOffset + k];
+                s0 += aData[r0 + k] * xk;
+                s1 += aData[r1 + k] * xk;
+                s2 += aData[r2 + k] * xk;
+                s3 += aData[r3 + k] * xk;
+            }
+
+            store(cData, c.index(i, 0), alpha * s0, beta);
+            store(cData, c.index(i + 1, 0), alpha * s1, beta);
+            store(cData, c.index(i + 2, 0), alpha * s2, beta);
+            store(cData, c.index(i + 3, 0), alpha * s3, beta);
+        }
+
+        // Remaining rows one at a time
+        for (; i < end; i++) {
+            int row = a.index(i, 0);
+            DoubleVector acc = DoubleVector.zero(SPECIES);
+            int k = 0;
+            for (; k < vectorEnd; k += SPECIES.length()) {
+                acc = DoubleVector.fromArray(SPECIES, aData, row + k)
+                        .fma(DoubleVector.fromArray(SPECIES, x, xOffset + k), acc);
+            }
+            double sum = acc.reduceLanes(VectorOperators.ADD);
+            for (; k < n; k++) {
+                sum += aData[row + k] * x[xOffset + k];
+            }
+            store(cData, c.index(i, 0), alpha * sum, beta);
+        }
+    }
+
+    /**
+     * c = alpha * y * B + beta * c for a row vector y, parallel over blocks of columns of B.
+     * Each block of c is an accumulator updated with four rows of B per pass.
+     */
+    private static void gevm(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta,
+                             ExecutionContext context) {
+        int n = b.rows();
+        int p = b.cols();
+        int blocks = (p + COLUMN_BLOCK - 1) / COLUMN_BLOCK;
+        int taskCount = taskCount((long) n * p, blocks, context);
+        int blocksPerTask = (blocks + taskCount - 1) / Math.max(1, taskCount);
+
+        run(taskCount, context, t -> {
+            int start = t * blocksPerTask * COLUMN_BLOCK;
+            int end = Math.min(p, start + blocksPerTask * COLUMN_BLOCK);
+            for (int j = start; j < end; j += COLUMN_BLOCK) {
+                gevmColumns(a, b, c, alpha, beta, j, Math.min(end, j + COLUMN_BLOCK));
+            }
+        });
+    }
+
+    private static void gevmColumns(DenseMatrix a, DenseMatrix b, DenseMatrix c,
+                                    double alpha, double beta, int start, int end) {
+        double[] aData = a.data();
+        double[] bData = b.data();
+        double[] cData = c.data();
+        int n = b.rows();
+        int aRow = a.index(0, 0);
+        int cRow = c.index(0, 0);
+        int vectorEnd = start + SPECIES.loopBound(end - start);
+
+        if (beta == 0.0) {
+            for (int j = start; j < end; j++) {
+                cData[cRow + j] = 0.0;
+            }
+        } else if (beta != 1.0) {
+            for (int j = start; j < end; j++) {
+                cData[cRow + j] *= beta;
+            }
+        }
+
+        int k = 0;
+        for (; k + 3 < n; k += 4) {
+            double y0 = alpha * aData[aRow + k], y1 = alpha * aData[aRow + k + 1];
+            double y2 = alpha * aData[aRow + k + 2], y3 = alpha * aData[aRow + k + 3];
+            int b0 = b.index(k, 0), b1 = b.index(k + 1, 0), b2 = b.index(k + 2, 0), b3 = b.index(k + 3, 0);
+            DoubleVector v0 = DoubleVector.broadcast(SPECIES, y0);
+            DoubleVector v1 = DoubleVector.broadcast(SPECIES, y1);
+            DoubleVector v2 = DoubleVector.broadcast(SPECIES, y2);
+            DoubleVector v3 = DoubleVector.broadcast(SPECIES, y3);
+
+            int j = start;
+            for (; j < vectorEnd; j += SPECIES.length()) {
+                DoubleVector cv = DoubleVector.fromArray(SPECIES, cData, cRow + j);
+                cv = DoubleVector.fromArray(SPECIES, bData, b0 + j).fma(v0, cv);
+                cv = DoubleVector.fromArray(SPECIES, bData, b1 + j).fma(v1, cv);
+                cv = DoubleVector.fromArray(SPECIES, bData, b2 + j).fma(v2, cv);
+                cv = DoubleVector.fromArray(SPECIES, bData, b3 + j).fma(v3, cv);
+                cv.intoArray(cData, cRow + j);
+            }
+            for (; j < end; j++) {
+                cData[cRow + j] += y0 * bData[b0 + j] + y1 * bData[b1 + j] + y2 * bData[b2 + j] + y3 * bData[b3 + j];
+            }
+        }
+
+        // Remaining rows of B one at a time
+        for (; k < n; k++) {
+            double yk = alpha * aData[aRow + k];
+            int bk = b.index(k, 0);
+            DoubleVector v = DoubleVector.broadcast(SPECIES, yk);
+            int j = start;
+            for (; j < vectorEnd; j += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, bData, bk + j)
+                        .fma(v, DoubleVector.fromArray(SPECIES, cData, cRow + j))
+                        .intoArray(cData, cRow + j);
+            }
+            for (; j < end; j++) {
+                cData[cRow + j] += yk * bData[bk + j];
+            }
+        }
+    }
+
+    private static void store(double[] cData, int index, double value, double beta) {
+        cData[index] = beta == 0.0 ? value : value + beta * cData[index];
+    }
+
+    /**
+     * One task per thread for large products, a single inline task for small ones
+     */
+    private static int taskCount(long elements, int units, ExecutionContext context) {
+        if (elements < PARALLEL_THRESHOLD || units <= 1) {
+            return units == 0 ? 0 : 1;
+        }
+        return Math.min(units, context.parallelism());
+    }
+
+    private static void run(int taskCount, ExecutionContext context, IntConsumer body) {
+        if (taskCount == 1) {
+            body.accept(0);
+        } else {
+            context.parallelFor(taskCount, body);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package org.example.Algorithms;
+
+import org.example.Execution.CancellableExecutionContext;
+import org.example.Execution.ExecutionContext;
+import org.example.Execution.SharedPoolExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.MatrixBatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Asynchronous front-end for serving many concurrent multiplication requests
+ *
+ * Calling a parallel algorithm directly from every request thread lets each caller
+ * fan out over all cores, so concurrent callers oversubscribe the machine and tail
+ * latency follows the slowest of them. Here requests go into a bounded queue instead
+ * and are rejected when it is full, and a single scheduler hands out a fixed budget
+ * of cores:
+ *
+ * - small products (see {@link BatchedKernel#isSmall}) are coalesced with whatever
+ *   else is waiting and multiplied as batches on one core, equal shapes together
+ *   through the batched kernel
+ * - large products get cores in proportion to their work, capped by their fair share
+ *   of the budget when other requests are waiting, and run with an algorithm whose
+ *   context is limited to exactly that many threads of the service's pool
+ *
+ * The cores in use never exceed the budget, so a burst of requests queues up rather
+ * than slowing down the ones already running. Requests given a timeout are shed
+ * without running once it has passed. Every large request runs on its own
+ * {@link CancellableExecutionContext}, so it stops part way through when its
+ * timeout passes or its future is cancelled.
+ */
+public class MultiplicationService implements AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * Most requests taken off the queue in one scheduling round
+     */
+    static final int MAX_BATCH = 256;
+
+    /**
+     * Work a large product needs for each additional core it is given
+     */
+    static final long FLOPS_PER_CORE = 2L * 128 * 128 * 128;
+
+    private final Function<ExecutionContext, AbstractMatrixMultiplicationAlgorithm> factory;
+    private final int coreBudget;
+    private final int queueCapacity;
+    private final SharedPoolExecutionContext pool;
+    private final AbstractMatrixMultiplicationAlgorithm batchAlgorithm;
+    private final BlockingQueue<Request> queue;
+    private final Semaphore cores;
+    private final ExecutorService runners;
+    private final Thread scheduler;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile boolean closed;
+
+    public MultiplicationService() {
+        this(ParallelPackedMicroKernelMultiplication::new, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param factory creates the algorithm for a given execution context; it is called
+     *                once for every large request, on a context limited to the cores
+     *                the request was granted
+     */
+    public MultiplicationService(Function<ExecutionContext, AbstractMatrixMultiplicationAlgorithm> factory,
+                                 int coreBudget, int queueCapacity) {
+        if (coreBudget < 1) {
+            throw new IllegalArgumentException("Core budget must be positive: " + coreBudget);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.factory = factory;
+        this.coreBudget = coreBudget;
+        this.queueCapacity = queueCapacity;
+        this.pool = new SharedPoolExecutionContext(coreBudget);
+        this.batchAlgorithm = factory.apply(pool.limitedTo(1));
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.cores = new Semaphore(coreBudget);
+
+        AtomicInteger runnerIndex = new AtomicInteger();
+        this.runners = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "multiply-runner-" + runnerIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = new Thread(this::schedule, "multiply-scheduler");
+        this.scheduler.setDaemon(true);
+        this.scheduler.start();
+    }
+
+    public String getName() {
+        return "Multiplication Service (" + coreBudget + " cores, queue " + queueCapacity + ")";
+    }
+
+    /**
+     * Queue a * b; the future fails with a RejectedExecutionException right away when the queue is full
+     */
+    public CompletableFuture<DenseMatrix> multiplyAsync(DenseMatrix a, DenseMatrix b) {
+        return multiplyAsync(a, b, null);
+    }
+
+    /**
+     * Queue a * b to be finished within timeout of now; past it the future fails with a
+     * CancellationException and the cores go to other requests. Cancelling the future
+     * stops a large product that is already running.
+     */
+    public CompletableFuture<DenseMatrix> multiplyAsync(DenseMatrix a, DenseMatrix b, Duration timeout) {
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Invalid matrices for multiplication: " + a + " * " + b);
+        }
+
+        CompletableFuture<DenseMatrix> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new RejectedExecutionException("Service is closed"));
+            return future;
+        }
+
+        Request request = new Request(a, b, future, timeout == null ? Long.MAX_VALUE : System.nanoTime() + saturatedNanos(timeout));
+        if (!queue.offer(request)) {
+            rejected.incrementAndGet();
+            future.completeExceptionally(new RejectedExecutionException(
+                    "Queue full: " + queueCapacity + " requests waiting"));
+        } else if (closed && queue.remove(request)) {
+            // Lost the race with close(), which has already drained the queue
+            future.completeExceptionally(new RejectedExecutionException("Service is closed"));
+        }
+        return future;
+    }
+
+    /**
+     * Requests waiting to be scheduled
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    /**
+     * Cores of the budget not held by a running request
+     */
+    public int idleCores() {
+        return cores.availablePermits();
+    }
+
+    /**
+     * Requests turned away because the queue was full
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Batches of small requests run so far
+     */
+    public long batches() {
+        return batches.get();
+    }
+
+    /**
+     * Stop accepting requests, fail the queued ones and wait for running ones to finish
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.interrupt();
+        try {
+            scheduler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.future().completeExceptionally(new CancellationException("Service closed"));
+        }
+
+        // Every running request holds at least one core until it has completed its future
+        cores.acquireUninterruptibly(coreBudget);
+        runners.shutdown();
+        pool.executor().shutdown();
+    }
+
+    private void schedule() {
+        List<Request> drained = new ArrayList<>();
+        int next = 0;
+        try {
+            while (!closed) {
+                drained.clear();
+                next = 0;
+                drained.add(queue.take());
+                queue.drainTo(drained, MAX_BATCH - 1);
+
+                List<Request> small = new ArrayList<>();
+                List<Request> large = new ArrayList<>();
+                for (Request request : drained) {
+                    (request.isSmall() ? small : large).add(request);
+                }
+                drained.clear();
+                drained.addAll(small);
+                drained.addAll(large);
+
+                if (!small.isEmpty()) {
+                    cores.acquire();
+                    next = small.size();
+                    runners.execute(() -> runBatch(small));
+                }
+
+                while (next < drained.size()) {
+                    Request request = drained.get(next);
+                    if (request.expired()) {
+                        request.future().completeExceptionally(new CancellationException("Deadline exceeded before start"));
+                        next++;
+                        continue;
+                    }
+
+                    int waiting = drained.size() - next - 1 + queue.size();
+                    int fairShare = Math.max(1, coreBudget / (1 + waiting));
+                    int granted = Math.max(1, Math.min(Math.min(coresFor(request), fairShare), cores.availablePermits()));
+
+                    // Only this thread acquires, so the permits counted above are still there
+                    cores.acquire(granted);
+                    next++;
+                    runners.execute(() -> run(request, granted));
+                }
+            }
+        } catch (InterruptedException e) {
+            for (int i = next; i < drained.size(); i++) {
+                drained.get(i).future().completeExceptionally(new CancellationException("Service closed"));
+            }
+        }
+    }
+
+    private int coresFor(Request request) {
+        return (int) Math.max(1, Math.min(coreBudget, request.flops() / FLOPS_PER_CORE));
+    }
+
+    /**
+     * Timeouts too large for a nanoTime deadline are capped; they are centuries away anyway
+     */
+    private static long saturatedNanos(Duration timeout) {
+        try {
+            return Math.min(timeout.toNanos(), Long.MAX_VALUE / 2);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    /**
+     * Run one large request with an algorithm made for it on a cancellable context, which
+     * stops the product once the request's deadline passes or its future completes otherwise
+     */
+    private void run(Request request, int granted) {
+        try {
+            if (request.future().isDone()) {
+                return;
+            }
+            Duration timeout = request.hasDeadline() ? Duration.ofNanos(request.deadline() - System.nanoTime()) : null;
+            CancellableExecutionContext context = new CancellableExecutionContext(pool.limitedTo(granted), timeout);
+            request.future().whenComplete((result, error) -> context.cancel());
+            AbstractMatrixMultiplicationAlgorithm algorithm = factory.apply(context);
+            request.future().complete(algorithm.multiply(request.a(), request.b()));
+        } catch (Throwable t) {
+            request.future().completeExceptionally(t);
+        } finally {
+            cores.release(granted);
+        }
+    }
+
+    /**
+     * Multiply a batch of small requests on the calling thread, equal shapes together
+     */
+    private void runBatch(List<Request> requests) {
+        try {
+            batches.incrementAndGet();
+            Map<Shape, List<Request>> byShape = new HashMap<>();
+            for (Request request : requests) {
+                if (request.expired()) {
+                    request.future().completeExceptionally(new CancellationException("Deadline exceeded before start"));
+                } else if (!request.future().isDone()) {
+                    byShape.computeIfAbsent(request.shape(), shape -> new ArrayList<>()).add(request);
+                }
+            }
+
+            for (List<Request> group : byShape.values()) {
+                try {
+                    if (group.size() == 1) {
+                        Request request = group.get(0);
+                        request.future().complete(batchAlgorithm.multiply(request.a(), request.b()));
+                        continue;
+                    }
+
+                    DenseMatrix[] a = new DenseMatrix[group.size()];
+                    DenseMatrix[] b = new DenseMatrix[group.size()];
+                    for (int i = 0; i < a.length; i++) {
+                        a[i] = group.get(i).a();
+                        b[i] = group.get(i).b();
+                    }
+                    MatrixBatch result = new MatrixBatch(a.length, a[0].rows(), b[0].cols());
+                    BatchedKernel.multiply(MatrixBatch.of(a), MatrixBatch.of(b), result, ExecutionContext.callerRuns());
+                    for (int i = 0; i < a.length; i++) {
+                        group.get(i).future().complete(result.get(i));
+                    }
+                } catch (Throwable t) {
+                    for (Request request : group) {
+                        request.future().completeExceptionally(t);
+                    }
+                }
+            }
+        } finally {
+            cores.release();
+        }
+    }
+
+    private record Shape(int m, int n, int p) {
+    }
+
+    /**
+     * @param deadline System.nanoTime() by which the product is due, Long.MAX_VALUE for none
+     */
+    private record Request(DenseMatrix a, DenseMatrix b, CompletableFuture<DenseMatrix> future, long deadline) {
+
+        boolean hasDeadline() {
+            return deadline != Long.MAX_VALUE;
+        }
+
+        boolean expired() {
+            return hasDeadline() && System.nanoTime() - deadline > 0;
+        }
+
+        Shape shape() {
+            return new Shape(a.rows(), a.cols(), b.cols());
+        }
+
+        long flops() {
+            return 2L * a.rows() * a.cols() * b.cols();
+        }
+
+        boolean isSmall() {
+            return BatchedKernel.isSmall(a.rows(), a.cols(), b.cols());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.Algorithms;
+
+import org.example.Matrices.OffHeapMatrix;
+import org.example.Storage.MatrixFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Blocked multiplication of matrices that live in {@link MatrixFile}s and need not fit in memory
+ *
+ * C is produced one tile at a time: tile (i, j) of C accumulates A(i, k) * B(k, j)
+ * over every k, computed in place on the mapped tiles by an in-memory algorithm, by
+ * default {@link ParallelOffHeapSIMDMultiplication}. While one tile pair is being
+ * multiplied, a background thread pages in the pair needed next, so disk reads
+ * overlap compute. Each finished C tile is written back and released before moving
+ * on, which keeps the resident set at a few tiles regardless of matrix size.
+ *
+ * The tile shapes must line up: A's tile columns equal B's tile rows, and C is
+ * created with A's tile rows and B's tile columns.
+ */
+public class OutOfCoreMultiplication {
+
+    // One I/O thread shared by every out-of-core multiplication; prefetching is disk bound
+    private static final ExecutorService PREFETCHER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "matrix-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AbstractMatrixMultiplicationAlgorithm tileAlgorithm;
+
+    public OutOfCoreMultiplication() {
+        this(new ParallelOffHeapSIMDMultiplication());
+    }
+
+    /**
+     * @param tileAlgorithm algorithm multiplying one pair of tiles; it should override the
+     *                      off-heap multiplyInto, or every tile is copied through the heap
+     */
+    public OutOfCoreMultiplication(AbstractMatrixMultiplicationAlgorithm tileAlgorithm) {
+        this.tileAlgorithm = tileAlgorithm;
+    }
+
+    public String getName() {
+        return "Out-of-Core Multiplication (" + tileAlgorithm.getName() + ")";
+    }
+
+    /**
+     * Multiply A and B into a new matrix file at the given path
+     */
+    public MatrixFile multiply(MatrixFile a, MatrixFile b, Path resultPath) throws IOException {
+        if (a.cols() != b.rows() || a.tileCols() != b.tileRows()) {
+            throw new IllegalArgumentException("Invalid matrix files for multiplication: " + a + " * " + b);
+        }
+
+        MatrixFile c = MatrixFile.create(resultPath, a.rows(), b.cols(), a.tileRows(), b.tileCols());
+        try {
+            multiplyInto(a, b, c);
+        } catch (IOException | RuntimeException e) {
+            c.close();
+            throw e;
+        }
+        return c;
+    }
+
+    /**
+     * C = A * B for an existing, writable C of matching shape and tiling
+     */
+    public void multiplyInto(MatrixFile a, MatrixFile b, MatrixFile c) throws IOException {
+        if (a.cols() != b.rows() || a.tileCols() != b.tileRows() || c.rows() != a.rows() || c.cols() != b.cols()
+                || c.tileRows() != a.tileRows() || c.tileCols() != b.tileCols()) {
+            throw new IllegalArgumentException("Invalid matrix files for multiplication: " + a + " * " + b + " into " + c);
+        }
+
+        int tilesDown = c.tileRowCount();
+        int tilesAcross = c.tileColCount();
+        int depth = a.tileColCount();
+        if (depth == 0) {
+            for (int i = 0; i < tilesDown; i++) {
+                for (int j = 0; j < tilesAcross; j++) {
+                    c.tile(i, j).clear();
+                }
+            }
+            c.flush();
+            return;
+        }
+
+        // Steps run i, j, k in order; step s + 1 is paged in while step s computes
+        long steps = (long) tilesDown * tilesAcross * depth;
+        Future<?> pending = prefetch(a, b, 0, tilesAcross, depth);
+
+        for (long step = 0; step < steps; step++) {
+            int k = (int) (step % depth);
+            int j = (int) (step / depth % tilesAcross);
+            int i = (int) (step / depth / tilesAcross);
+
+            await(pending);
+            pending = step + 1 < steps ? prefetch(a, b, step + 1, tilesAcross, depth) : null;
+
+            OffHeapMatrix cTile = c.tile(i, j);
+            tileAlgorithm.multiplyInto(a.tile(i, k), b.tile(k, j), cTile, 1.0, k == 0 ? 0.0 : 1.0);
+
+            if (k == depth - 1) {
+                c.flush(i, j);
+                c.release(i, j);
+            }
+        }
+    }
+
+    private static Future<?> prefetch(MatrixFile a, MatrixFile b, long step, int tilesAcross, int depth) {
+        int k = (int) (step % depth);
+        int j = (int) (step / depth % tilesAcross);
+        int i = (int) (step / depth / tilesAcross);
+        return PREFETCHER.submit(() -> {
+            a.prefetch(i, k);
+            b.prefetch(k, j);
+        });
+    }
+
+    private static void await(Future<?> pending) throws IOException {
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while prefetching tiles", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to prefetch tiles", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Matrices.DenseMatrix;
+
+/**
+ * Packing routines and the MR x NR register-blocked micro-kernel behind the packed GEMM algorithms
+ *
+ * A is packed into panels of MR rows stored k-major (MR values per k step) and B into
+ * panels of NR columns stored k-major (NR values per k step). Panels are zero-padded
+ * at the matrix edges so the micro-kernel always runs at full size and only its final
+ * store into C is clipped. The kernel keeps the whole MR x NR block of C in vector
+ * registers for the full depth of the panel and updates them with FMA outer products,
+ * so no horizontal reduction is ever needed.
+ */
+final class PackedMicroKernel {
+
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    static final int LANES = SPECIES.length();
+
+    // Register block: MR rows x two vectors of columns, i.e. 8 accumulators
+    static final int MR = 4;
+    static final int NR = 2 * LANES;
+
+    // Cache block sizes: an MC x KC block of A sits in L2, a KC x NR sliver of B in L1
+    static final int MC = 96;
+    static final int KC = 256;
+    static final int NC = 4096;
+
+    // Per-thread spill area for the accumulators of tiles clipped by the right edge of C
+    private static final ThreadLocal<double[]> EDGE_TILE = ThreadLocal.withInitial(() -> new double[MR * NR]);
+
+    private PackedMicroKernel() {
+    }
+
+    static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+
+    /**
+     * Pack the mc x kc block of A starting at (rowStart, kStart) into MR-row panels, scaled by alpha
+     */
+    static void packA(DenseMatrix a, int rowStart, int kStart, int mc, int kc, double alpha, double[] packed) {
+        double[] data = a.data();
+
+        for (int ir = 0; ir < mc; ir += MR) {
+            int mr = Math.min(MR, mc - ir);
+            int panel = ir * kc;
+
+            for (int r = 0; r < mr; r++) {
+                int src = a.index(rowStart + ir + r, kStart);
+                for (int k = 0, dst = panel + r; k < kc; k++, dst += MR) {
+                    packed[dst] = alpha * data[src + k];
+                }
+            }
+            for (int r = mr; r < MR; r++) {
+                for (int k = 0, dst = panel + r; k < kc; k++, dst += MR) {
+                    packed[dst] = 0.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pack the kc x nc block of B starting at (kStart, colStart) into NR-column panels
+     */
+    static void packB(DenseMatrix b, int kStart, int colStart, int kc, int nc, double[] packed) {
+        double[] data = b.data();
+
+        for (int jr = 0; jr < nc; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            int panel = jr * kc;
+
+            for (int k = 0; k < kc; k++) {
+                int src = b.index(kStart + k, colStart + jr);
+                int dst = panel + k * NR;
+                System.arraycopy(data, src, packed, dst, nr);
+                for (int j = nr; j < NR; j++) {
+                    packed[dst + j] = 0.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiply a packed mc x kc block of A by a packed kc x nc block of B and add it
+     * into C at (rowStart, colStart)
+     */
+    static void macroKernel(int mc, int nc, int kc, double[] packedA, double[] packedB,
+                            DenseMatrix c, int rowStart, int colStart) {
+        for (int jr = 0; jr < nc; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+
+            for (int ir = 0; ir < mc; ir += MR) {
+                int mr = Math.min(MR, mc - ir);
+                microKernel(kc, packedA, ir * kc, packedB, jr * kc, c, rowStart + ir, colStart + jr, mr, nr);
+            }
+        }
+    }
+
+    /**
+     * C[row..row+mr, col..col+nr] += packed A panel * packed B panel
+     */
+    static void microKernel(int kc, double[] packedA, int aOffset, double[] packedB, int bOffset,
+                            DenseMatrix c, int row, int col, int mr, int nr) {
+        DoubleVector c00 = DoubleVector.zero(SPECIES), c01 = DoubleVector.zero(SPECIES);
+        DoubleVector c10 = DoubleVector.zero(SPECIES), c11 = DoubleVector.zero(SPECIES);
+        DoubleVector c20 = DoubleVector.zero(SPECIES), c21 = DoubleVector.zero(SPECIES);
+        DoubleVector c30 = DoubleVector.zero(SPECIES), c31 = DoubleVector.zero(SPECIES);
+
+        for (int k = 0, ai = aOffset, bi = bOffset; k < kc; k++, ai += MR, bi += NR) {
+            DoubleVector b0 = DoubleVector.fromArray(SPECIES, packedB, bi);
+            DoubleVector b1 = DoubleVector.fromArray(SPECIES, packedB, bi + LANES);
+
+            DoubleVector a0 = DoubleVector.broadcast(SPECIES, packedA[ai]);
+            c00 = b0.fma(a0, c00);
+            c01 = b1.fma(a0, c01);
+            DoubleVector a1 = DoubleVector.broadcast(SPECIES, packedA[ai + 1]);
+            c10 = b0.fma(a1, c10);
+            c11 = b1.fma(a1, c11);
+            DoubleVector a2 = DoubleVector.broadcast(SPECIES, packedA[ai + 2]);
+            c20 = b0.fma(a2, c20);
+            c21 = b1.fma(a2, c21);
+            DoubleVector a3 = DoubleVector.broadcast(SPECIES, packedA[ai + 3]);
+            c30 = b0.fma(a3, c30);
+            c31 = b1.fma(a3, c31);
+        }
+
+        double[] cData = c.data();
+        if (nr == NR) {
+            // Full-width tile: plain vector read-modify-write of each row. Written out rather
+            // than through a helper taking vectors, which boxes them whenever it is not inlined
+            int index = c.index(row, col);
+            DoubleVector.fromArray(SPECIES, cData, index).add(c00).intoArray(cData, index);
+            DoubleVector.fromArray(SPECIES, cData, index + LANES).add(c01).intoArray(cData, index + LANES);
+            if (mr > 1) {
+                index = c.index(row + 1, col);
+                DoubleVector.fromArray(SPECIES, cData, index).add(c10).intoArray(cData, index);
+                DoubleVector.fromArray(SPECIES, cData, index + LANES).add(c11).intoArray(cData, index + LANES);
+            }
+            if (mr > 2) {
+                index = c.index(row + 2, col);
+                DoubleVector.fromArray(SPECIES, cData, index).add(c20).intoArray(cData, index);
+                DoubleVector.fromArray(SPECIES, cData, index + LANES).add(c21).intoArray(cData, index + LANES);
+            }
+            if (mr > 3) {
+                index = c.index(row + 3, col);
+                DoubleVector.fromArray(SPECIES, cData, index).add(c30).intoArray(cData, index);
+                DoubleVector.fromArray(SPECIES, cData, index + LANES).add(c31).intoArray(cData, index + LANES);
+            }
+        } else {
+            // Right edge: spill the accumulators and add only the first nr columns
+            double[] edge = EDGE_TILE.get();
+            c00.intoArray(edge, 0);
+            c01.intoArray(edge, LANES);
+            c10.intoArray(edge, NR);
+            c11.intoArray(edge, NR + LANES);
+            c20.intoArray(edge, 2 * NR);
+            c21.intoArray(edge, 2 * NR + LANES);
+            c30.intoArray(edge, 3 * NR);
+            c31.intoArray(edge, 3 * NR + LANES);
+            for (int r = 0; r < mr; r++) {
+                int index = c.index(row + r, col);
+                for (int j = 0; j < nr; j++) {
+                    cData[index + j] += edge[r * NR + j];
+                }
+            }
+        }
+    }
+}
@@ -1,69 +1,115 @@
 package org.example.Algorithms;
 
 import jdk.incubator.vector.*;
-
-import java.util.Arrays;
-
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.PreparedOperand;
+
+/**
+ * Fills the flat result element by element from a generator function, in the style of
+ * Arrays.parallelSetAll, with the index space split across an {@link ExecutionContext}
+ */
 public class ParallelArraySetSIMDTransposeMultiplication implements AbstractMatrixMultiplicationAlgorithm {
 
     private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
 
+    private final ExecutionContext context;
+
+    public ParallelArraySetSIMDTransposeMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ParallelArraySetSIMDTransposeMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
     @Override
     public double[][] multiply(double[][] a, double[][] b) {
         assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        int m = a.length;
-        int n = a[0].length;
-        int p = b[0].length;
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        // Transpose matrix B
-        double[][] bTransposed = new double[p][n];
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < p; j++) {
-                bTransposed[j][i] = b[i][j];
-            }
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
         }
 
-        double[][] result = new double[m][p];
+        // Transpose matrix B
+        return multiplyTransposed(a, b.transpose());
+    }
 
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        Arrays.parallelSetAll(result, i -> {
-            double[] aRow = a[i];
-            double[] resultRow = new double[p];
+        return multiplyTransposed(a, b.transposed());
+    }
 
-            for (int j = 0; j < p; j++) {
-                double sum = 0.0;
-                double[] bTransposedRow = bTransposed[j];
+    /**
+     * A * B given the contiguous transpose of B
+     */
+    private DenseMatrix multiplyTransposed(DenseMatrix a, DenseMatrix bTransposed) {
+        int m = a.rows();
+        int n = a.cols();
+        int p = bTransposed.rows();
+
+        DenseMatrix result = new DenseMatrix(m, p);
+        double[] aData = a.data();
+        double[] btData = bTransposed.data();
+        double[] resultData = result.data();
+
+        // Each index of the flat result is one (row, column) dot product; every chunk is a
+        // contiguous index range, so workers still walk whole rows of A
+        int chunks = Math.max(1, Math.min(context.parallelism() * 4, resultData.length));
+        context.parallelFor(chunks, chunk -> {
+            int start = (int) ((long) resultData.length * chunk / chunks);
+            int end = (int) ((long) resultData.length * (chunk + 1) / chunks);
+            for (int index = start; index < end; index++) {
+                resultData[index] = dotProduct(aData, a.index(index / p, 0), btData, bTransposed.index(index % p, 0), n);
+            }
+        });
 
-                // SIMD multiplication using vectorized operations
-                int k = 0;
-                int vectorLength = SPECIES.length();
+        return result;
+    }
 
-                // Use SIMD for chunks of k until we run out of space for full vectors
-                for (; k <= n - vectorLength; k += vectorLength) {
-                    DoubleVector av = DoubleVector.fromArray(SPECIES, aRow, k);
-                    DoubleVector bv = DoubleVector.fromArray(SPECIES, bTransposedRow, k);
+    private static double dotProduct(double[] aData, int aRow, double[] btData, int bTransposedRow, int n) {
+        double sum = 0.0;
 
-                    // Perform vectorized multiplication and accumulate the sum
-                    sum += av.mul(bv).reduceLanes(VectorOperators.ADD);
-                }
+        // SIMD multiplication using vectorized operations
+        int k = 0;
+        int vectorLength = SPECIES.length();
 
-                // Process the remaining elements that don't fit into a full vector
-                for (; k < n; k++) {
-                    sum += aRow[k] * bTransposedRow[k];
-                }
+        // Use SIMD for chunks of k until we run out of space for full vectors
+        for (; k <= n - vectorLength; k += vectorLength) {
+            DoubleVector av = DoubleVector.fromArray(SPECIES, aData, aRow + k);
+            DoubleVector bv = DoubleVector.fromArray(SPECIES, btData, bTransposedRow + k);
 
-                resultRow[j] = sum;
-            }
+            // Perform vectorized multiplication and accumulate the sum
+            sum += av.mul(bv).reduceLanes(VectorOperators.ADD);
+        }
 
-            return resultRow;
-        });
+        // Process the remaining elements that don't fit into a full vector
+        for (; k < n; k++) {
+            sum += aData[aRow + k] * btData[bTransposedRow + k];
+        }
 
-        return result;
+        return sum;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
     }
 
     @Override
     public String getName() {
-        return "Parallel ArraySet Transpose SIMD Multiplication";
+        if (context == ExecutionContext.sharedPool()) {
+            return "Parallel ArraySet Transpose SIMD Multiplication";
+        }
+        return "Parallel ArraySet Transpose SIMD Multiplication (" + context.getName() + ")";
     }
 }
@@ -1,51 +1,71 @@
 package org.example.Algorithms;
 
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.RecursiveAction;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Tuning.TunedParameters;
 
 /**
  * Parallel matrix multiplication algorithm using Fork/Join framework
  *
  * This algorithm divides the workload among multiple threads to utilize
- * multicore processors for faster computation.
+ * multicore processors for faster computation. The quadrant recursion forks
+ * through an {@link ExecutionContext}, by default the shared Fork/Join pool.
  */
 public class ParallelForkJoinMultiplication implements AbstractMatrixMultiplicationAlgorithm {
     private final int threshold;
-    private static final ForkJoinPool POOL = new ForkJoinPool();
+    private final ExecutionContext context;
 
     public ParallelForkJoinMultiplication() {
-        this.threshold = 64;
+        this(TunedParameters.current().forkJoinThreshold());
     }
 
     public ParallelForkJoinMultiplication(int threshold) {
+        this(threshold, ExecutionContext.forkJoin());
+    }
+
+    public ParallelForkJoinMultiplication(int threshold, ExecutionContext context) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
         this.threshold = threshold;
+        this.context = context;
     }
 
     @Override
     public double[][] multiply(double[][] a, double[][] b) {
         assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        int m = a.length;
-        int n = a[0].length;
-        int p = b[0].length;
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
+        }
+
+        int m = a.rows();
+        int p = b.cols();
 
-        double[][] result = new double[m][p];
+        DenseMatrix result = new DenseMatrix(m, p);
 
-        POOL.invoke(new MatrixMultiplyTask(a, b, result, 0, m, 0, p));
+        new MatrixMultiplyTask(a, b, result, 0, m, 0, p).compute();
 
         return result;
     }
 
-    private class MatrixMultiplyTask extends RecursiveAction {
-        private final double[][] a;
-        private final double[][] b;
-        private final double[][] result;
+    private class MatrixMultiplyTask {
+        private final DenseMatrix a;
+        private final DenseMatrix b;
+        private final DenseMatrix result;
         private final int rowStart;
         private final int rowEnd;
         private final int colStart;
         private final int colEnd;
 
-        public MatrixMultiplyTask(double[][] a, double[][] b, double[][] result,
+        public MatrixMultiplyTask(DenseMatrix a, DenseMatrix b, DenseMatrix result,
                                   int rowStart, int rowEnd, int colStart, int colEnd) {
             this.a = a;
             this.b = b;
@@ -56,8 +76,7 @@ public class ParallelForkJoinMultiplication implements AbstractMatrixMultiplicat
             this.colEnd = colEnd;
         }
 
-        @Override
-        protected void compute() {
+        void compute() {
             int rowSize = rowEnd - rowStart;
             int colSize = colEnd - colStart;
 
@@ -68,14 +87,15 @@ public class ParallelForkJoinMultiplication implements AbstractMatrixMultiplicat
             }
 
             // Otherwise, fork subtasks
-            invokeAll(createSubtasks());
+            MatrixMultiplyTask[] subtasks = createSubtasks();
+            context.parallelFor(subtasks.length, i -> subtasks[i].compute());
         }
 
-        private RecursiveAction[] createSubtasks() {
+        private MatrixMultiplyTask[] createSubtasks() {
             int rowMiddle = rowStart + (rowEnd - rowStart) / 2;
             int colMiddle = colStart + (colEnd - colStart) / 2;
 
-            return new RecursiveAction[] {
+            return new MatrixMultiplyTask[] {
                     new MatrixMultiplyTask(a, b, result, rowStart, rowMiddle, colStart, colMiddle),
                     new MatrixMultiplyTask(a, b, result, rowStart, rowMiddle, colMiddle, colEnd),
                     new MatrixMultiplyTask(a, b, result, rowMiddle, rowEnd, colStart, colMiddle),
@@ -84,22 +104,36 @@ public class ParallelForkJoinMultiplication implements AbstractMatrixMultiplicat
         }
 
         private void computeDirectly() {
-            int n = a[0].length;
+            int n = a.cols();
+            double[] aData = a.data();
+            double[] bData = b.data();
+            double[] resultData = result.data();
+            int bStride = b.stride();
 
             for (int i = rowStart; i < rowEnd; i++) {
+                int aRow = a.index(i, 0);
                 for (int j = colStart; j < colEnd; j++) {
                     double sum = 0.0;
-                    for (int k = 0; k < n; k++) {
-                        sum += a[i][k] * b[k][j];
+                    int bIndex = b.index(0, j);
+                    for (int k = 0; k < n; k++, bIndex += bStride) {
+                        sum += aData[aRow + k] * bData[bIndex];
                     }
-                    result[i][j] = sum;
+                    resultData[result.index(i, j)] = sum;
                 }
             }
         }
     }
 
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
     @Override
     public String getName() {
-        return "Parallel Fork Join Multiplication";
+        if (context == ExecutionContext.forkJoin()) {
+            return "Parallel Fork Join Multiplication";
+        }
+        return "Parallel Fork Join Multiplication (" + context.getName() + ")";
     }
 }
\ No newline at end of file
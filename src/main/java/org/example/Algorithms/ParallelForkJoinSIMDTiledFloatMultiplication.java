@@ -0,0 +1,214 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.FloatMatrix;
+import org.example.Tuning.TunedParameters;
+
+/**
+ * Single-precision version of {@link ParallelForkJoinSIMDTiledMultiplication}
+ *
+ * Same recursive row/column split and k-tiling over a transposed B, with float
+ * storage and float vector accumulators. Every tile of a result element is reduced
+ * into the output once, so accumulation error grows with the tile count rather than
+ * with the inner dimension.
+ */
+public class ParallelForkJoinSIMDTiledFloatMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int VECTOR_SIZE = SPECIES.length();
+
+    private final int tileSize;
+    private final int parallelThreshold;
+    private final boolean tuned;
+    private final ExecutionContext context;
+
+    /**
+     * Use the tile size and parallel threshold tuned for this machine
+     */
+    public ParallelForkJoinSIMDTiledFloatMultiplication() {
+        this(ExecutionContext.forkJoin());
+    }
+
+    /**
+     * Use the tuned tile size and parallel threshold, forking through the given context
+     */
+    public ParallelForkJoinSIMDTiledFloatMultiplication(ExecutionContext context) {
+        this(TunedParameters.current().tileSize(), TunedParameters.current().parallelThreshold(), true, context);
+    }
+
+    public ParallelForkJoinSIMDTiledFloatMultiplication(int tileSize, int parallelThreshold) {
+        this(tileSize, parallelThreshold, false, ExecutionContext.forkJoin());
+    }
+
+    private ParallelForkJoinSIMDTiledFloatMultiplication(int tileSize, int parallelThreshold, boolean tuned,
+                                                         ExecutionContext context) {
+        if (tileSize < 1 || parallelThreshold < 0) {
+            throw new IllegalArgumentException("Invalid tile size " + tileSize + " or parallel threshold " + parallelThreshold);
+        }
+        this.tileSize = tileSize;
+        this.parallelThreshold = parallelThreshold;
+        this.tuned = tuned;
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        String name = "Parallel Fork Join SIMD Tiled Float Multiplication";
+        if (!tuned) {
+            name += " (tile " + tileSize + ", threshold " + parallelThreshold + ")";
+        }
+        if (context != ExecutionContext.forkJoin()) {
+            name += " (" + context.getName() + ")";
+        }
+        return name;
+    }
+
+    @Override
+    public Precision precision() {
+        return Precision.FLOAT;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(FloatMatrix.of(a), FloatMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(FloatMatrix.of(a), FloatMatrix.of(b)).toDense();
+    }
+
+    @Override
+    public FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        assert a.cols() == b.rows() : "Invalid matrices for multiplication";
+
+        int aRows = a.rows();
+        int aCols = a.cols();
+        int bCols = b.cols();
+
+        FloatMatrix bTransposed = b.transpose();
+        FloatMatrix result = new FloatMatrix(aRows, bCols);
+
+        if (aRows <= parallelThreshold || bCols <= parallelThreshold) {
+            multiplyBlocked(a, bTransposed, result, 0, aRows, 0, bCols, aCols);
+        } else {
+            new MatrixMultiplyTask(a, bTransposed, result, 0, aRows, 0, bCols, aCols).compute();
+        }
+
+        return result;
+    }
+
+    /**
+     * Blocked multiplication of a block of rows and columns, accumulating into result
+     */
+    private void multiplyBlocked(FloatMatrix a, FloatMatrix bTransposed, FloatMatrix result,
+                                 int rowStart, int rowEnd, int colStart, int colEnd, int aCols) {
+        for (int i = rowStart; i < rowEnd; i += tileSize) {
+            context.checkpoint();
+            int iLimit = Math.min(i + tileSize, rowEnd);
+
+            for (int j = colStart; j < colEnd; j += tileSize) {
+                int jLimit = Math.min(j + tileSize, colEnd);
+
+                for (int k = 0; k < aCols; k += tileSize) {
+                    int kLimit = Math.min(k + tileSize, aCols);
+
+                    // Process the tile
+                    for (int ii = i; ii < iLimit; ii++) {
+                        for (int jj = j; jj < jLimit; jj++) {
+                            computeTileElement(a, bTransposed, result, ii, jj, k, kLimit);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute a single element in the result matrix using SIMD
+     */
+    private static void computeTileElement(FloatMatrix a, FloatMatrix bTransposed, FloatMatrix result,
+                                           int i, int j, int kStart, int kLimit) {
+        float[] aData = a.data();
+        float[] btData = bTransposed.data();
+        int aRow = a.index(i, 0);
+        int bRow = bTransposed.index(j, 0);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int k = kStart;
+
+        for (; k <= kLimit - VECTOR_SIZE; k += VECTOR_SIZE) {
+            FloatVector av = FloatVector.fromArray(SPECIES, aData, aRow + k);
+            FloatVector bv = FloatVector.fromArray(SPECIES, btData, bRow + k);
+            acc = av.fma(bv, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+
+        // Process remaining elements
+        for (; k < kLimit; k++) {
+            sum += aData[aRow + k] * btData[bRow + k];
+        }
+
+        // Add to any existing result
+        result.data()[result.index(i, j)] += sum;
+    }
+
+    /**
+     * Recursive task for parallel matrix multiplication, forked through the execution context
+     */
+    private class MatrixMultiplyTask {
+        private final FloatMatrix a;
+        private final FloatMatrix bTransposed;
+        private final FloatMatrix result;
+        private final int rowStart, rowEnd, colStart, colEnd, aCols;
+
+        // Size threshold for splitting the task
+        private final int taskThreshold = tileSize * 2;
+
+        MatrixMultiplyTask(FloatMatrix a, FloatMatrix bTransposed, FloatMatrix result,
+                           int rowStart, int rowEnd, int colStart, int colEnd, int aCols) {
+            this.a = a;
+            this.bTransposed = bTransposed;
+            this.result = result;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.colStart = colStart;
+            this.colEnd = colEnd;
+            this.aCols = aCols;
+        }
+
+        void compute() {
+            int rowSize = rowEnd - rowStart;
+            int colSize = colEnd - colStart;
+
+            // If the task is small enough, compute it directly
+            if (rowSize <= taskThreshold && colSize <= taskThreshold) {
+                multiplyBlocked(a, bTransposed, result, rowStart, rowEnd, colStart, colEnd, aCols);
+                return;
+            }
+
+            // Otherwise, split the longer side in half
+            MatrixMultiplyTask[] subtasks = new MatrixMultiplyTask[2];
+            if (rowSize >= colSize) {
+                int midRow = rowStart + rowSize / 2;
+                subtasks[0] = new MatrixMultiplyTask(a, bTransposed, result, rowStart, midRow, colStart, colEnd, aCols);
+                subtasks[1] = new MatrixMultiplyTask(a, bTransposed, result, midRow, rowEnd, colStart, colEnd, aCols);
+            } else {
+                int midCol = colStart + colSize / 2;
+                subtasks[0] = new MatrixMultiplyTask(a, bTransposed, result, rowStart, rowEnd, colStart, midCol, aCols);
+                subtasks[1] = new MatrixMultiplyTask(a, bTransposed, result, rowStart, rowEnd, midCol, colEnd, aCols);
+            }
+            context.parallelFor(subtasks.length, i -> subtasks[i].compute());
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package org.example.Algorithms;
 
 import jdk.incubator.vector.*;
-
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.RecursiveAction;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.PreparedOperand;
+import org.example.Tuning.TunedParameters;
 
 /**
  * Optimized matrix multiplication using:
@@ -17,57 +18,163 @@ public class ParallelForkJoinSIMDTiledMultiplication implements AbstractMatrixMu
 
     private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
     private static final int VECTOR_SIZE = SPECIES.length();
-    private static final int TILE_SIZE = 64;
-    private static final ForkJoinPool FORK_JOIN_POOL = new ForkJoinPool();
-    private static final int PARALLEL_THRESHOLD = 128;
+
+    private final int tileSize;
+    private final int parallelThreshold;
+    private final boolean tuned;
+    private final ExecutionContext context;
+
+    /**
+     * Use the tile size and parallel threshold tuned for this machine
+     */
+    public ParallelForkJoinSIMDTiledMultiplication() {
+        this(ExecutionContext.forkJoin());
+    }
+
+    /**
+     * Use the tuned tile size and parallel threshold, forking through the given context
+     */
+    public ParallelForkJoinSIMDTiledMultiplication(ExecutionContext context) {
+        this(TunedParameters.current().tileSize(), TunedParameters.current().parallelThreshold(), true, context);
+    }
+
+    public ParallelForkJoinSIMDTiledMultiplication(int tileSize, int parallelThreshold) {
+        this(tileSize, parallelThreshold, false, ExecutionContext.forkJoin());
+    }
+
+    private ParallelForkJoinSIMDTiledMultiplication(int tileSize, int parallelThreshold, boolean tuned,
+                                                    ExecutionContext context) {
+        if (tileSize < 1 || parallelThreshold < 0) {
+            throw new IllegalArgumentException("Invalid tile size " + tileSize + " or parallel threshold " + parallelThreshold);
+        }
+        this.tileSize = tileSize;
+        this.parallelThreshold = parallelThreshold;
+        this.tuned = tuned;
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
 
     @Override
     public String getName() {
-        return "Parallel Fork Join SIMD Tiled Multiplication";
+        String name = "Parallel Fork Join SIMD Tiled Multiplication";
+        if (!tuned) {
+            name += " (tile " + tileSize + ", threshold " + parallelThreshold + ")";
+        }
+        if (context != ExecutionContext.forkJoin()) {
+            name += " (" + context.getName() + ")";
+        }
+        return name;
     }
 
     @Override
     public double[][] multiply(double[][] a, double[][] b) {
         assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        int aRows = a.length;
-        int aCols = a[0].length;
-        int bCols = b[0].length;
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
+        }
 
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        accumulateTransposed(a, b.transpose(), result, 1.0);
+        return result;
+    }
 
-        double[][] bTransposed = transpose(b, bCols, b.length);
+    /**
+     * C = alpha * A * B + beta * C; the transposed copy of B lives in a per-thread
+     * {@link TransposeWorkspace}, so repeated calls allocate nothing
+     */
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
 
-        double[][] result = new double[aRows][bCols];
+        if (isVectorProduct(a, b)) {
+            multiplyVector(a, b, c, alpha, beta);
+            return;
+        }
 
-        if (aRows <= PARALLEL_THRESHOLD || bCols <= PARALLEL_THRESHOLD) {
-            multiplySequentialBlocked(a, bTransposed, result, aRows, aCols, bCols);
-        } else {
-            FORK_JOIN_POOL.invoke(new MatrixMultiplyTask(a, bTransposed, result, 0, aRows, 0, bCols, aCols));
+        scaleForAccumulation(c, beta);
+        if (alpha != 0.0) {
+            TransposeWorkspace.withTransposed(b, bTransposed -> accumulateTransposed(a, bTransposed, c, alpha));
         }
+    }
 
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        accumulateTransposed(a, b.transposed(), result, 1.0);
         return result;
     }
 
+    @Override
+    public void multiplyInto(DenseMatrix a, PreparedOperand b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        scaleForAccumulation(c, beta);
+        if (alpha != 0.0) {
+            accumulateTransposed(a, b.transposed(), c, alpha);
+        }
+    }
+
+    /**
+     * C = beta * C ahead of accumulating into it; beta == 0 clears C without reading it
+     */
+    private static void scaleForAccumulation(DenseMatrix c, double beta) {
+        if (beta == 0.0) {
+            c.fill(0.0);
+        } else if (beta != 1.0) {
+            c.scale(beta);
+        }
+    }
+
+    /**
+     * C += alpha * A * B given the transpose of B
+     */
+    private void accumulateTransposed(DenseMatrix a, DenseMatrix bTransposed, DenseMatrix result, double alpha) {
+        int aRows = a.rows();
+        int aCols = a.cols();
+        int bCols = bTransposed.rows();
+
+        if (aRows <= parallelThreshold || bCols <= parallelThreshold) {
+            multiplySequentialBlocked(a, bTransposed, result, alpha, aRows, aCols, bCols, tileSize, context);
+        } else {
+            new MatrixMultiplyTask(a, bTransposed, result, alpha, 0, aRows, 0, bCols, aCols).compute();
+        }
+    }
+
     /**
-     * sequential blocked multiplication
+     * sequential blocked multiplication, accumulating alpha * a * bTransposed^T into result,
+     * with a checkpoint of the context before every row of tiles
      */
-    private void multiplySequentialBlocked(double[][] a, double[][] bTransposed, double[][] result,
-                                           int aRows, int aCols, int bCols) {
+    static void multiplySequentialBlocked(DenseMatrix a, DenseMatrix bTransposed, DenseMatrix result, double alpha,
+                                           int aRows, int aCols, int bCols, int tileSize, ExecutionContext context) {
         // Tile the computation for better cache locality
-        for (int i = 0; i < aRows; i += TILE_SIZE) {
-            int iLimit = Math.min(i + TILE_SIZE, aRows);
+        for (int i = 0; i < aRows; i += tileSize) {
+            context.checkpoint();
+            int iLimit = Math.min(i + tileSize, aRows);
 
-            for (int j = 0; j < bCols; j += TILE_SIZE) {
-                int jLimit = Math.min(j + TILE_SIZE, bCols);
+            for (int j = 0; j < bCols; j += tileSize) {
+                int jLimit = Math.min(j + tileSize, bCols);
 
-                for (int k = 0; k < aCols; k += TILE_SIZE) {
-                    int kLimit = Math.min(k + TILE_SIZE, aCols);
+                for (int k = 0; k < aCols; k += tileSize) {
+                    int kLimit = Math.min(k + tileSize, aCols);
 
                     // Process the tile
                     for (int ii = i; ii < iLimit; ii++) {
                         for (int jj = j; jj < jLimit; jj++) {
-                            computeTileElement(a, bTransposed, result, ii, jj, k, kLimit);
+                            computeTileElement(a, bTransposed, result, alpha, ii, jj, k, kLimit);
                         }
                     }
                 }
@@ -78,68 +185,49 @@ public class ParallelForkJoinSIMDTiledMultiplication implements AbstractMatrixMu
     /**
      * Compute a single element in the result matrix using SIMD
      */
-    private void computeTileElement(double[][] a, double[][] bTransposed, double[][] result,
+    private static void computeTileElement(DenseMatrix a, DenseMatrix bTransposed, DenseMatrix result, double alpha,
                                     int i, int j, int kStart, int kLimit) {
+        double[] aData = a.data();
+        double[] btData = bTransposed.data();
+        int aRow = a.index(i, 0);
+        int bRow = bTransposed.index(j, 0);
         double sum = 0.0;
         int k = kStart;
 
         for (; k <= kLimit - VECTOR_SIZE; k += VECTOR_SIZE) {
-            DoubleVector av = DoubleVector.fromArray(SPECIES, a[i], k);
-            DoubleVector bv = DoubleVector.fromArray(SPECIES, bTransposed[j], k);
+            DoubleVector av = DoubleVector.fromArray(SPECIES, aData, aRow + k);
+            DoubleVector bv = DoubleVector.fromArray(SPECIES, btData, bRow + k);
             sum += av.mul(bv).reduceLanes(VectorOperators.ADD);
         }
 
         // Process remaining elements
         for (; k < kLimit; k++) {
-            sum += a[i][k] * bTransposed[j][k];
+            sum += aData[aRow + k] * btData[bRow + k];
         }
 
         // Add to any existing result
-        result[i][j] += sum;
-    }
-
-    /**
-     * matrix transposition
-     */
-    private double[][] transpose(double[][] matrix, int rows, int cols) {
-        double[][] transposed = new double[rows][cols];
-
-        // Use tiling for transpose to improve cache behavior
-        for (int i = 0; i < cols; i += TILE_SIZE) {
-            int iLimit = Math.min(i + TILE_SIZE, cols);
-
-            for (int j = 0; j < rows; j += TILE_SIZE) {
-                int jLimit = Math.min(j + TILE_SIZE, rows);
-
-                // Process the tile
-                for (int ii = i; ii < iLimit; ii++) {
-                    for (int jj = j; jj < jLimit; jj++) {
-                        transposed[jj][ii] = matrix[ii][jj];
-                    }
-                }
-            }
-        }
-
-        return transposed;
+        result.data()[result.index(i, j)] += alpha * sum;
     }
 
     /**
-     * Fork-Join recursive task for parallel matrix multiplication
+     * Recursive task for parallel matrix multiplication, forked through the execution context
      */
-    private class MatrixMultiplyTask extends RecursiveAction {
-        private final double[][] a;
-        private final double[][] bTransposed;
-        private final double[][] result;
+    private class MatrixMultiplyTask {
+        private final DenseMatrix a;
+        private final DenseMatrix bTransposed;
+        private final DenseMatrix result;
+        private final double alpha;
         private final int rowStart, rowEnd, colStart, colEnd, aCols;
 
         // Size threshold for splitting the task
-        private static final int TASK_THRESHOLD = TILE_SIZE * 2;
+        private final int taskThreshold = tileSize * 2;
 
-        MatrixMultiplyTask(double[][] a, double[][] bTransposed, double[][] result,
+        MatrixMultiplyTask(DenseMatrix a, DenseMatrix bTransposed, DenseMatrix result, double alpha,
                            int rowStart, int rowEnd, int colStart, int colEnd, int aCols) {
             this.a = a;
             this.bTransposed = bTransposed;
             this.result = result;
+            this.alpha = alpha;
             this.rowStart = rowStart;
             this.rowEnd = rowEnd;
             this.colStart = colStart;
@@ -147,38 +235,39 @@ public class ParallelForkJoinSIMDTiledMultiplication implements AbstractMatrixMu
             this.aCols = aCols;
         }
 
-        @Override
-        protected void compute() {
+        void compute() {
             int rowSize = rowEnd - rowStart;
             int colSize = colEnd - colStart;
 
             // If the task is small enough, compute it directly
-            if (rowSize <= TASK_THRESHOLD && colSize <= TASK_THRESHOLD) {
+            if (rowSize <= taskThreshold && colSize <= taskThreshold) {
                 computeDirectly();
                 return;
             }
 
             // Otherwise, split the task
-            invokeAll(createSubtasks());
+            MatrixMultiplyTask[] subtasks = createSubtasks();
+            context.parallelFor(subtasks.length, i -> subtasks[i].compute());
         }
 
         /**
          * Compute the partial matrix multiplication directly using blocked algorithm
          */
         private void computeDirectly() {
-            for (int i = rowStart; i < rowEnd; i += TILE_SIZE) {
-                int iLimit = Math.min(i + TILE_SIZE, rowEnd);
+            for (int i = rowStart; i < rowEnd; i += tileSize) {
+                context.checkpoint();
+                int iLimit = Math.min(i + tileSize, rowEnd);
 
-                for (int j = colStart; j < colEnd; j += TILE_SIZE) {
-                    int jLimit = Math.min(j + TILE_SIZE, colEnd);
+                for (int j = colStart; j < colEnd; j += tileSize) {
+                    int jLimit = Math.min(j + tileSize, colEnd);
 
-                    for (int k = 0; k < aCols; k += TILE_SIZE) {
-                        int kLimit = Math.min(k + TILE_SIZE, aCols);
+                    for (int k = 0; k < aCols; k += tileSize) {
+                        int kLimit = Math.min(k + tileSize, aCols);
 
                         // Process the tile
                         for (int ii = i; ii < iLimit; ii++) {
                             for (int jj = j; jj < jLimit; jj++) {
-                                computeTileElement(a, bTransposed, result, ii, jj, k, kLimit);
+                                computeTileElement(a, bTransposed, result, alpha, ii, jj, k, kLimit);
                             }
                         }
                     }
@@ -189,22 +278,22 @@ public class ParallelForkJoinSIMDTiledMultiplication implements AbstractMatrixMu
         /**
          * Create subtasks by splitting the current task
          */
-        private RecursiveAction[] createSubtasks() {
+        private MatrixMultiplyTask[] createSubtasks() {
             int rowSize = rowEnd - rowStart;
             int colSize = colEnd - colStart;
 
-            RecursiveAction[] tasks;
+            MatrixMultiplyTask[] tasks;
 
             if (rowSize >= colSize) {
                 int midRow = rowStart + rowSize / 2;
-                tasks = new RecursiveAction[2];
-                tasks[0] = new MatrixMultiplyTask(a, bTransposed, result, rowStart, midRow, colStart, colEnd, aCols);
-                tasks[1] = new MatrixMultiplyTask(a, bTransposed, result, midRow, rowEnd, colStart, colEnd, aCols);
+                tasks = new MatrixMultiplyTask[2];
+                tasks[0] = new MatrixMultiplyTask(a, bTransposed, result, alpha, rowStart, midRow, colStart, colEnd, aCols);
+                tasks[1] = new MatrixMultiplyTask(a, bTransposed, result, alpha, midRow, rowEnd, colStart, colEnd, aCols);
             } else {
                 int midCol = colStart + colSize / 2;
-                tasks = new RecursiveAction[2];
-                tasks[0] = new MatrixMultiplyTask(a, bTransposed, result, rowStart, rowEnd, colStart, midCol, aCols);
-                tasks[1] = new MatrixMultiplyTask(a, bTransposed, result, rowStart, rowEnd, midCol, colEnd, aCols);
+                tasks = new MatrixMultiplyTask[2];
+                tasks[0] = new MatrixMultiplyTask(a, bTransposed, result, alpha, rowStart, rowEnd, colStart, midCol, aCols);
+                tasks[1] = new MatrixMultiplyTask(a, bTransposed, result, alpha, rowStart, rowEnd, midCol, colEnd, aCols);
             }
 
             return tasks;
@@ -0,0 +1,228 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Tuning.TunedParameters;
+
+/**
+ * Strassen-Winograd matrix multiplication using the Fork/Join framework
+ *
+ * Each level splits A, B and C into quadrants and replaces the eight quadrant
+ * products with seven (plus fifteen additions), which brings the flop count down
+ * to O(n^2.81). The seven sub-products of a level are forked as independent tasks
+ * through an {@link ExecutionContext}, by default the shared Fork/Join pool.
+ * Once the smallest dimension reaches the cutoff the recursion stops and the
+ * sequential tiled SIMD kernel of {@link ParallelForkJoinSIMDTiledMultiplication}
+ * computes the block directly.
+ *
+ * Odd sizes are handled by padding: the operands are zero-padded once up front to
+ * a multiple of 2^levels in every dimension, so every level splits evenly.
+ */
+public class ParallelForkJoinStrassenMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+    private final int cutoff;
+    private final ExecutionContext context;
+
+    public ParallelForkJoinStrassenMultiplication() {
+        this(256);
+    }
+
+    public ParallelForkJoinStrassenMultiplication(int cutoff) {
+        this(cutoff, ExecutionContext.forkJoin());
+    }
+
+    public ParallelForkJoinStrassenMultiplication(int cutoff, ExecutionContext context) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("Cutoff must be positive: " + cutoff);
+        }
+        this.cutoff = cutoff;
+        this.context = context;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
+        }
+
+        int m = a.rows();
+        int n = a.cols();
+        int p = b.cols();
+
+        // Number of times every dimension can be halved before the smallest one hits the cutoff
+        int levels = levels(m, n, p);
+
+        int paddedM = padTo(m, levels);
+        int paddedN = padTo(n, levels);
+        int paddedP = padTo(p, levels);
+        boolean padded = paddedM != m || paddedN != n || paddedP != p;
+
+        DenseMatrix aPadded = padded ? pad(a, paddedM, paddedN) : a;
+        DenseMatrix bPadded = padded ? pad(b, paddedN, paddedP) : b;
+        DenseMatrix result = new DenseMatrix(paddedM, paddedP);
+
+        new StrassenTask(aPadded, bPadded, result, levels).compute();
+
+        return padded ? result.view(0, 0, m, p).copy() : result;
+    }
+
+    /**
+     * Classical cost of the padded product, times 7/8 for every Strassen level
+     */
+    @Override
+    public double estimateCost(int m, int n, int p) {
+        int levels = levels(m, n, p);
+        return 2.0 * padTo(m, levels) * padTo(n, levels) * padTo(p, levels) * Math.pow(7.0 / 8.0, levels);
+    }
+
+    private int levels(int m, int n, int p) {
+        int levels = 0;
+        while (Math.min(m, Math.min(n, p)) >> levels > cutoff) {
+            levels++;
+        }
+        return levels;
+    }
+
+    private static int padTo(int size, int levels) {
+        int multiple = 1 << levels;
+        return (size + multiple - 1) / multiple * multiple;
+    }
+
+    private static DenseMatrix pad(DenseMatrix matrix, int rows, int cols) {
+        DenseMatrix padded = new DenseMatrix(rows, cols);
+        padded.view(0, 0, matrix.rows(), matrix.cols()).copyFrom(matrix);
+        return padded;
+    }
+
+    /**
+     * Computes result = a * b, overwriting result
+     */
+    private class StrassenTask {
+        private final DenseMatrix a;
+        private final DenseMatrix b;
+        private final DenseMatrix result;
+        private final int levels;
+
+        StrassenTask(DenseMatrix a, DenseMatrix b, DenseMatrix result, int levels) {
+            this.a = a;
+            this.b = b;
+            this.result = result;
+            this.levels = levels;
+        }
+
+        void compute() {
+            if (levels == 0) {
+                computeDirectly();
+                return;
+            }
+
+            int m = a.rows() / 2;
+            int n = a.cols() / 2;
+            int p = b.cols() / 2;
+
+            DenseMatrix a11 = a.view(0, 0, m, n), a12 = a.view(0, n, m, n);
+            DenseMatrix a21 = a.view(m, 0, m, n), a22 = a.view(m, n, m, n);
+            DenseMatrix b11 = b.view(0, 0, n, p), b12 = b.view(0, p, n, p);
+            DenseMatrix b21 = b.view(n, 0, n, p), b22 = b.view(n, p, n, p);
+
+            // Winograd's operand combinations
+            DenseMatrix s1 = add(a21, a22, new DenseMatrix(m, n));
+            DenseMatrix s2 = subtract(s1, a11, new DenseMatrix(m, n));
+            DenseMatrix s3 = subtract(a11, a21, new DenseMatrix(m, n));
+            DenseMatrix s4 = subtract(a12, s2, new DenseMatrix(m, n));
+            DenseMatrix t1 = subtract(b12, b11, new DenseMatrix(n, p));
+            DenseMatrix t2 = subtract(b22, t1, new DenseMatrix(n, p));
+            DenseMatrix t3 = subtract(b22, b12, new DenseMatrix(n, p));
+            DenseMatrix t4 = subtract(t2, b21, new DenseMatrix(n, p));
+
+            DenseMatrix m1 = new DenseMatrix(m, p), m2 = new DenseMatrix(m, p);
+            DenseMatrix m3 = new DenseMatrix(m, p), m4 = new DenseMatrix(m, p);
+            DenseMatrix m5 = new DenseMatrix(m, p), m6 = new DenseMatrix(m, p);
+            DenseMatrix m7 = new DenseMatrix(m, p);
+
+            int next = levels - 1;
+            StrassenTask[] products = {
+                    new StrassenTask(a11, b11, m1, next),
+                    new StrassenTask(a12, b21, m2, next),
+                    new StrassenTask(s4, b22, m3, next),
+                    new StrassenTask(a22, t4, m4, next),
+                    new StrassenTask(s1, t1, m5, next),
+                    new StrassenTask(s2, t2, m6, next),
+                    new StrassenTask(s3, t3, m7, next)
+            };
+            context.parallelFor(products.length, i -> products[i].compute());
+
+            DenseMatrix c11 = result.view(0, 0, m, p), c12 = result.view(0, p, m, p);
+            DenseMatrix c21 = result.view(m, 0, m, p), c22 = result.view(m, p, m, p);
+
+            // U2 = M1 + M6 and U3 = U2 + M7 are built in place inside M6 and M7
+            add(m1, m2, c11);
+            add(m1, m6, m6);
+            add(m6, m7, m7);
+            add(m6, m5, m6);
+            add(m6, m3, c12);
+            subtract(m7, m4, c21);
+            add(m7, m5, c22);
+        }
+
+        private void computeDirectly() {
+            result.fill(0.0);
+            ParallelForkJoinSIMDTiledMultiplication.multiplySequentialBlocked(
+                    a, b.transpose(), result, 1.0, a.rows(), a.cols(), b.cols(),
+                    TunedParameters.current().tileSize(), context);
+        }
+    }
+
+    /**
+     * out = x + y; out may alias either operand
+     */
+    private static DenseMatrix add(DenseMatrix x, DenseMatrix y, DenseMatrix out) {
+        double[] xd = x.data(), yd = y.data(), od = out.data();
+        int rows = out.rows(), cols = out.cols();
+
+        for (int i = 0; i < rows; i++) {
+            int xi = x.index(i, 0), yi = y.index(i, 0), oi = out.index(i, 0);
+            for (int j = 0; j < cols; j++) {
+                od[oi + j] = xd[xi + j] + yd[yi + j];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * out = x - y; out may alias either operand
+     */
+    private static DenseMatrix subtract(DenseMatrix x, DenseMatrix y, DenseMatrix out) {
+        double[] xd = x.data(), yd = y.data(), od = out.data();
+        int rows = out.rows(), cols = out.cols();
+
+        for (int i = 0; i < rows; i++) {
+            int xi = x.index(i, 0), yi = y.index(i, 0), oi = out.index(i, 0);
+            for (int j = 0; j < cols; j++) {
+                od[oi + j] = xd[xi + j] - yd[yi + j];
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.forkJoin()) {
+            return "Parallel Fork Join Strassen Multiplication";
+        }
+        return "Parallel Fork Join Strassen Multiplication (" + context.getName() + ")";
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.Int16Matrix;
+
+/**
+ * Quantized multiplication over 16-bit integers with exact integer accumulation
+ *
+ * Same scheme as {@link ParallelInt8SIMDMultiplication} with four times as many values
+ * per vector as doubles and about four and a half significant digits.
+ */
+public class ParallelInt16SIMDMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private final ExecutionContext context;
+
+    public ParallelInt16SIMDMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ParallelInt16SIMDMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.sharedPool()) {
+            return "Parallel Int16 SIMD Multiplication";
+        }
+        return "Parallel Int16 SIMD Multiplication (" + context.getName() + ")";
+    }
+
+    @Override
+    public Precision precision() {
+        return Precision.INT16;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(Int16Matrix.quantize(a), Int16Matrix.quantizeColumns(b));
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        QuantizedKernel.multiplyInto(Int16Matrix.quantize(a), Int16Matrix.quantizeColumns(b), c, alpha, beta, context);
+    }
+
+    /**
+     * A times B, with A quantized by rows and B by columns ({@link Int16Matrix#quantizeColumns})
+     */
+    public DenseMatrix multiply(Int16Matrix a, Int16Matrix bColumns) {
+        if (a.cols() != bColumns.cols()) {
+            throw new IllegalArgumentException("Invalid matrices for multiplication: " + a + " * " + bColumns + "^T");
+        }
+        DenseMatrix result = new DenseMatrix(a.rows(), bColumns.rows());
+        QuantizedKernel.multiplyInto(a, bColumns, result, 1.0, 0.0, context);
+        return result;
+    }
+}
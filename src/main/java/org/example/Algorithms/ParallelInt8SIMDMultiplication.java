@@ -0,0 +1,78 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.Int8Matrix;
+
+/**
+ * Quantized multiplication over 8-bit integers with exact integer accumulation
+ *
+ * A is quantized by rows and B by columns, each against its own largest magnitude,
+ * then every element of C is an int8 dot product scaled back by one scale per side.
+ * A vector holds eight times as many int8 values as doubles, and the operands take a
+ * quarter of the memory, at the cost of about two significant digits. Callers that
+ * multiply by the same operand repeatedly can quantize it once and use the typed overload.
+ */
+public class ParallelInt8SIMDMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private final ExecutionContext context;
+
+    public ParallelInt8SIMDMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ParallelInt8SIMDMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.sharedPool()) {
+            return "Parallel Int8 SIMD Multiplication";
+        }
+        return "Parallel Int8 SIMD Multiplication (" + context.getName() + ")";
+    }
+
+    @Override
+    public Precision precision() {
+        return Precision.INT8;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(Int8Matrix.quantize(a), Int8Matrix.quantizeColumns(b));
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        QuantizedKernel.multiplyInto(Int8Matrix.quantize(a), Int8Matrix.quantizeColumns(b), c, alpha, beta, context);
+    }
+
+    /**
+     * A times B, with A quantized by rows and B by columns ({@link Int8Matrix#quantizeColumns})
+     */
+    public DenseMatrix multiply(Int8Matrix a, Int8Matrix bColumns) {
+        if (a.cols() != bColumns.cols()) {
+            throw new IllegalArgumentException("Invalid matrices for multiplication: " + a + " * " + bColumns + "^T");
+        }
+        DenseMatrix result = new DenseMatrix(a.rows(), bColumns.rows());
+        QuantizedKernel.multiplyInto(a, bColumns, result, 1.0, 0.0, context);
+        return result;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.FloatMatrix;
+
+/**
+ * Mixed-precision multiplication: float storage, double accumulation
+ *
+ * Operands are rounded to float once, halving the memory traffic of every pass over
+ * A and the transposed B. Each load reads a float vector with as many lanes as a
+ * preferred double vector, widens it to double and accumulates with double FMAs, so
+ * the only error is the rounding of the inputs, not a growing float sum.
+ */
+public class ParallelMixedPrecisionSIMDMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES =
+            VectorSpecies.of(float.class, VectorShape.forBitSize(DOUBLE_SPECIES.vectorBitSize() / 2));
+
+    private final ExecutionContext context;
+
+    public ParallelMixedPrecisionSIMDMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ParallelMixedPrecisionSIMDMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.sharedPool()) {
+            return "Parallel Mixed Precision SIMD Multiplication";
+        }
+        return "Parallel Mixed Precision SIMD Multiplication (" + context.getName() + ")";
+    }
+
+    @Override
+    public Precision precision() {
+        return Precision.MIXED;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiplyFloat(FloatMatrix.of(a), FloatMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiplyFloat(FloatMatrix.of(a), FloatMatrix.of(b));
+    }
+
+    @Override
+    public FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        assert a.cols() == b.rows() : "Invalid matrices for multiplication";
+
+        return FloatMatrix.of(multiplyFloat(a, b));
+    }
+
+    /**
+     * A * B over float operands with a double result
+     */
+    private DenseMatrix multiplyFloat(FloatMatrix a, FloatMatrix b) {
+        int aRows = a.rows();
+        int aCols = a.cols();
+        int bCols = b.cols();
+
+        FloatMatrix bTransposed = b.transpose();
+        DenseMatrix result = new DenseMatrix(aRows, bCols);
+
+        int threadCount = Math.max(1, Math.min(context.parallelism(), aRows));
+        int rowsPerThread = aRows / threadCount;
+
+        context.parallelFor(threadCount, t -> {
+            int startRow = t * rowsPerThread;
+            int endRow = (t == threadCount - 1) ? aRows : (t + 1) * rowsPerThread;
+            processRowRange(a, bTransposed, result, startRow, endRow, aCols, bCols);
+        });
+
+        return result;
+    }
+
+    /**
+     * Process a range of rows, widening float loads into double accumulators
+     */
+    private void processRowRange(FloatMatrix a, FloatMatrix bTransposed, DenseMatrix result,
+                                 int startRow, int endRow, int aCols, int bCols) {
+        int vectorSize = DOUBLE_SPECIES.length();
+        float[] aData = a.data();
+        float[] btData = bTransposed.data();
+        double[] resultData = result.data();
+
+        for (int i = startRow; i < endRow; i++) {
+            context.checkpoint();
+            int aRow = a.index(i, 0);
+            for (int j = 0; j < bCols; j++) {
+                int bRow = bTransposed.index(j, 0);
+                DoubleVector acc = DoubleVector.zero(DOUBLE_SPECIES);
+                int k = 0;
+
+                for (; k <= aCols - vectorSize; k += vectorSize) {
+                    DoubleVector av = widen(aData, aRow + k);
+                    DoubleVector bv = widen(btData, bRow + k);
+                    acc = av.fma(bv, acc);
+                }
+                double sum = acc.reduceLanes(VectorOperators.ADD);
+
+                // Process remaining elements
+                for (; k < aCols; k++) {
+                    sum += (double) aData[aRow + k] * btData[bRow + k];
+                }
+
+                resultData[result.index(i, j)] = sum;
+            }
+        }
+    }
+
+    private static DoubleVector widen(float[] data, int offset) {
+        return (DoubleVector) FloatVector.fromArray(FLOAT_SPECIES, data, offset)
+                .convertShape(VectorOperators.F2D, DOUBLE_SPECIES, 0);
+    }
+}
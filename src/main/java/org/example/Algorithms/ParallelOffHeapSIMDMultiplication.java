@@ -0,0 +1,215 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.OffHeapMatrix;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Register-blocked SIMD multiplication of off-heap matrices, reading and writing the
+ * segments directly with DoubleVector.fromMemorySegment
+ *
+ * Row blocks of C are spread over an {@link ExecutionContext}. Inside a block the
+ * depth is cut into KC slices so a KC x NR sliver of B stays in L1 while every
+ * group of MR rows of A streams past it; each MR x NR tile of C is held in vector
+ * registers for the whole slice and updated with broadcast FMAs. No operand is
+ * copied or packed, so multiplying two off-heap matrices allocates nothing on the
+ * heap. Heap operands are copied off-heap first, which only pays off for
+ * benchmarking the kernel against the rest of the family.
+ */
+public class ParallelOffHeapSIMDMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final long VECTOR_BYTES = (long) LANES * Double.BYTES;
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    private static final int MR = 4;
+    private static final int NR = 2 * LANES;
+    private static final int KC = 256;
+    private static final int ROW_BLOCK = 16 * MR;
+
+    private final ExecutionContext context;
+
+    public ParallelOffHeapSIMDMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ParallelOffHeapSIMDMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.sharedPool()) {
+            return "Parallel Off-Heap SIMD Multiplication";
+        }
+        return "Parallel Off-Heap SIMD Multiplication (" + context.getName() + ")";
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        try (OffHeapMatrix offHeapA = OffHeapMatrix.of(a);
+             OffHeapMatrix offHeapB = OffHeapMatrix.of(b);
+             OffHeapMatrix result = multiply(offHeapA, offHeapB)) {
+            return result.toDense();
+        }
+    }
+
+    @Override
+    public OffHeapMatrix multiply(OffHeapMatrix a, OffHeapMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        OffHeapMatrix result = new OffHeapMatrix(a.rows(), b.cols());
+        multiplyAccumulate(a, b, result, 1.0);
+        return result;
+    }
+
+    @Override
+    public void multiplyInto(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        if (beta == 0.0) {
+            c.clear();
+        } else if (beta != 1.0) {
+            c.scale(beta);
+        }
+        if (alpha != 0.0) {
+            multiplyAccumulate(a, b, c, alpha);
+        }
+    }
+
+    /**
+     * C += alpha * A * B
+     */
+    private void multiplyAccumulate(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c, double alpha) {
+        int m = a.rows();
+        int blocks = (m + ROW_BLOCK - 1) / ROW_BLOCK;
+
+        context.parallelFor(blocks, block -> {
+            int rowStart = block * ROW_BLOCK;
+            computeRowBlock(a, b, c, alpha, rowStart, Math.min(rowStart + ROW_BLOCK, m));
+        });
+    }
+
+    private void computeRowBlock(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c, double alpha,
+                                 int rowStart, int rowEnd) {
+        int n = a.cols();
+        int p = b.cols();
+
+        for (int kStart = 0; kStart < n; kStart += KC) {
+            context.checkpoint();
+            int kEnd = Math.min(kStart + KC, n);
+
+            for (int j = 0; j < p; j += NR) {
+                int nr = Math.min(NR, p - j);
+
+                for (int i = rowStart; i < rowEnd; i += MR) {
+                    int mr = Math.min(MR, rowEnd - i);
+                    if (mr == MR && nr == NR) {
+                        fullTile(a, b, c, alpha, i, j, kStart, kEnd);
+                    } else {
+                        edgeTile(a, b, c, alpha, i, mr, j, nr, kStart, kEnd);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * MR x NR tile of C held in eight vector accumulators across the depth slice
+     */
+    private static void fullTile(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c, double alpha,
+                                 int row, int col, int kStart, int kEnd) {
+        MemorySegment aSeg = a.segment();
+        MemorySegment bSeg = b.segment();
+        MemorySegment cSeg = c.segment();
+
+        long c0 = c.offset(row, col), c1 = c.offset(row + 1, col);
+        long c2 = c.offset(row + 2, col), c3 = c.offset(row + 3, col);
+
+        DoubleVector c00 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c0, ORDER);
+        DoubleVector c01 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c0 + VECTOR_BYTES, ORDER);
+        DoubleVector c10 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c1, ORDER);
+        DoubleVector c11 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c1 + VECTOR_BYTES, ORDER);
+        DoubleVector c20 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c2, ORDER);
+        DoubleVector c21 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c2 + VECTOR_BYTES, ORDER);
+        DoubleVector c30 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c3, ORDER);
+        DoubleVector c31 = DoubleVector.fromMemorySegment(SPECIES, cSeg, c3 + VECTOR_BYTES, ORDER);
+
+        long a0 = a.offset(row, kStart), a1 = a.offset(row + 1, kStart);
+        long a2 = a.offset(row + 2, kStart), a3 = a.offset(row + 3, kStart);
+        long bRow = b.offset(kStart, col);
+        long bStride = (long) b.stride() * Double.BYTES;
+
+        for (int k = kStart; k < kEnd; k++, a0 += Double.BYTES, a1 += Double.BYTES,
+                a2 += Double.BYTES, a3 += Double.BYTES, bRow += bStride) {
+            DoubleVector b0 = DoubleVector.fromMemorySegment(SPECIES, bSeg, bRow, ORDER);
+            DoubleVector b1 = DoubleVector.fromMemorySegment(SPECIES, bSeg, bRow + VECTOR_BYTES, ORDER);
+
+            DoubleVector av = DoubleVector.broadcast(SPECIES, alpha * aSeg.get(ValueLayout.JAVA_DOUBLE, a0));
+            c00 = b0.fma(av, c00);
+            c01 = b1.fma(av, c01);
+            av = DoubleVector.broadcast(SPECIES, alpha * aSeg.get(ValueLayout.JAVA_DOUBLE, a1));
+            c10 = b0.fma(av, c10);
+            c11 = b1.fma(av, c11);
+            av = DoubleVector.broadcast(SPECIES, alpha * aSeg.get(ValueLayout.JAVA_DOUBLE, a2));
+            c20 = b0.fma(av, c20);
+            c21 = b1.fma(av, c21);
+            av = DoubleVector.broadcast(SPECIES, alpha * aSeg.get(ValueLayout.JAVA_DOUBLE, a3));
+            c30 = b0.fma(av, c30);
+            c31 = b1.fma(av, c31);
+        }
+
+        c00.intoMemorySegment(cSeg, c0, ORDER);
+        c01.intoMemorySegment(cSeg, c0 + VECTOR_BYTES, ORDER);
+        c10.intoMemorySegment(cSeg, c1, ORDER);
+        c11.intoMemorySegment(cSeg, c1 + VECTOR_BYTES, ORDER);
+        c20.intoMemorySegment(cSeg, c2, ORDER);
+        c21.intoMemorySegment(cSeg, c2 + VECTOR_BYTES, ORDER);
+        c30.intoMemorySegment(cSeg, c3, ORDER);
+        c31.intoMemorySegment(cSeg, c3 + VECTOR_BYTES, ORDER);
+    }
+
+    /**
+     * Tile clipped by the bottom or right edge of C, one scalar row update per k
+     */
+    private static void edgeTile(OffHeapMatrix a, OffHeapMatrix b, OffHeapMatrix c, double alpha,
+                                 int row, int mr, int col, int nr, int kStart, int kEnd) {
+        MemorySegment aSeg = a.segment();
+        MemorySegment bSeg = b.segment();
+        MemorySegment cSeg = c.segment();
+
+        for (int r = row; r < row + mr; r++) {
+            long cRow = c.offset(r, col);
+            for (int k = kStart; k < kEnd; k++) {
+                double aik = alpha * aSeg.get(ValueLayout.JAVA_DOUBLE, a.offset(r, k));
+                long bRow = b.offset(k, col);
+                for (int jj = 0; jj < nr; jj++) {
+                    long cOffset = cRow + (long) jj * Double.BYTES;
+                    double value = cSeg.get(ValueLayout.JAVA_DOUBLE, cOffset)
+                            + aik * bSeg.get(ValueLayout.JAVA_DOUBLE, bRow + (long) jj * Double.BYTES);
+                    cSeg.set(ValueLayout.JAVA_DOUBLE, cOffset, value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.Workspace;
+
+import static org.example.Algorithms.PackedMicroKernel.*;
+
+/**
+ * GEMM-style matrix multiplication with packed panels and a register-blocked SIMD micro-kernel
+ *
+ * Follows the BLIS loop structure: B is packed once per KC x NC block into NR-wide
+ * column panels, each MC-row block of A is packed into MR-high row panels by the
+ * thread that consumes it, and the MR x NR micro-kernel accumulates outer products
+ * with FMA entirely in vector registers. Row blocks of A are spread over an
+ * {@link ExecutionContext}, by default the shared Fork/Join pool.
+ */
+public class ParallelPackedMicroKernelMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    // Per-thread buffer for the packed block of A, reused across calls
+    private static final ThreadLocal<double[]> PACKED_A = ThreadLocal.withInitial(() -> new double[MC * KC]);
+
+    // Per-calling-thread buffer for the packed block of B, grown to the largest block seen
+    private static final ThreadLocal<Workspace> PACKED_B = ThreadLocal.withInitial(() -> new Workspace(1));
+
+    // Below this many multiply-adds per packed block it is cheaper to stay on the calling thread
+    private static final long PARALLEL_WORK_THRESHOLD = 1L << 18;
+
+    private final ExecutionContext context;
+
+    public ParallelPackedMicroKernelMultiplication() {
+        this(ExecutionContext.forkJoin());
+    }
+
+    public ParallelPackedMicroKernelMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.forkJoin()) {
+            return "Parallel Packed Micro-Kernel Multiplication";
+        }
+        return "Parallel Packed Micro-Kernel Multiplication (" + context.getName() + ")";
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
+        }
+
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        multiplyAccumulate(a, b, result, 1.0);
+        return result;
+    }
+
+    /**
+     * C = alpha * A * B + beta * C. Alpha is folded into the packing of A and beta is
+     * applied to C up front; packing buffers are per-thread and reused, so a call that
+     * stays on the calling thread allocates nothing
+     */
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            multiplyVector(a, b, c, alpha, beta);
+            return;
+        }
+
+        if (beta == 0.0) {
+            c.fill(0.0);
+        } else if (beta != 1.0) {
+            c.scale(beta);
+        }
+        if (alpha != 0.0) {
+            multiplyAccumulate(a, b, c, alpha);
+        }
+    }
+
+    /**
+     * C += alpha * A * B
+     */
+    void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha) {
+        int m = a.rows();
+        int n = a.cols();
+        int p = b.cols();
+        if (m == 0 || n == 0 || p == 0) {
+            return;
+        }
+
+        Workspace workspace = PACKED_B.get();
+        boolean owned = workspace.acquire();
+        try {
+            accumulateBlocks(a, b, c, alpha, owned ? workspace : new Workspace(1));
+        } finally {
+            if (owned) {
+                workspace.release();
+            }
+        }
+    }
+
+    private void accumulateBlocks(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, Workspace workspace) {
+        int m = a.rows();
+        int n = a.cols();
+        int p = b.cols();
+        double[] packedB = workspace.buffer(0, Math.min(KC, n) * roundUp(Math.min(NC, p), NR));
+        int parallelism = context.parallelism();
+
+        for (int jc = 0; jc < p; jc += NC) {
+            int nc = Math.min(NC, p - jc);
+
+            for (int pc = 0; pc < n; pc += KC) {
+                int kc = Math.min(KC, n - pc);
+                packB(b, pc, jc, kc, nc, packedB);
+
+                // Give every worker at least one row block, but never more rows than fit in L2
+                int blockRows = Math.min(MC, roundUp((m + parallelism - 1) / parallelism, MR));
+                int blocks = (m + blockRows - 1) / blockRows;
+
+                if (blocks == 1 || parallelism == 1 || (long) m * nc * kc < PARALLEL_WORK_THRESHOLD) {
+                    computeRowBlocks(a, c, alpha, packedB, blockRows, 0, blocks, jc, nc, pc, kc);
+                } else {
+                    int colStart = jc, kStart = pc;
+                    context.parallelFor(blocks, block ->
+                            computeRowBlocks(a, c, alpha, packedB, blockRows, block, block + 1, colStart, nc, kStart, kc));
+                }
+            }
+        }
+    }
+
+    /**
+     * Pack each MC-row block of A in [blockStart, blockEnd) and run the macro-kernel over it
+     * against one packed block of B
+     */
+    private void computeRowBlocks(DenseMatrix a, DenseMatrix c, double alpha, double[] packedB, int blockRows,
+                                  int blockStart, int blockEnd, int colStart, int nc, int kStart, int kc) {
+        double[] packedA = PACKED_A.get();
+        int m = a.rows();
+
+        for (int block = blockStart; block < blockEnd; block++) {
+            int ic = block * blockRows;
+            int mc = Math.min(blockRows, m - ic);
+            context.checkpoint();
+            packA(a, ic, kStart, mc, kc, alpha, packedA);
+            macroKernel(mc, nc, kc, packedA, packedB, c, ic, colStart);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+
+import static org.example.Algorithms.PackedMicroKernel.*;
+
+/**
+ * Parallel multiplication that partitions rows, columns and the shared inner dimension
+ * according to the shape of the product
+ *
+ * The m x n x p iteration space is cut into a rowParts x colParts x depthParts grid
+ * with at least one block per worker. Splitting rows or columns is free, splitting k
+ * costs one extra m x p partial result per depth part plus a reduction, so
+ * {@link #partition} keeps halving whichever dimension has the largest part and only
+ * picks k when it is more than {@link #DEPTH_SPLIT_COST} times longer than the others.
+ * A 100 x 100000 x 100 product thus becomes one block per worker along k, a square
+ * one a grid over rows and columns. Every block runs the packed micro-kernel on the
+ * calling worker; depth parts after the first accumulate into private buffers that
+ * are summed into C in parallel once all blocks are done.
+ */
+public class ParallelShapeAwareMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    /**
+     * A part along k must be this many times longer than the row and column parts to be split further
+     */
+    public static final int DEPTH_SPLIT_COST = 2;
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // Smallest part along each dimension: one micro-tile of rows or columns, one packed depth block
+    private static final int MIN_ROWS = MR;
+    private static final int MIN_COLS = NR;
+    private static final int MIN_DEPTH = KC;
+
+    // Below this many multiply-adds the product runs as a single block
+    private static final long PARALLEL_WORK_THRESHOLD = 1L << 18;
+
+    /**
+     * Number of parts along each dimension of the iteration space
+     */
+    public record Partition(int rowParts, int colParts, int depthParts) {
+        public int blocks() {
+            return rowParts * colParts * depthParts;
+        }
+    }
+
+    private final ExecutionContext context;
+    private final ParallelPackedMicroKernelMultiplication blockKernel;
+
+    public ParallelShapeAwareMultiplication() {
+        this(ExecutionContext.forkJoin());
+    }
+
+    public ParallelShapeAwareMultiplication(ExecutionContext context) {
+        this.context = context;
+        // Blocks run on the worker that picked them up, checking for cancellation between packed row blocks
+        this.blockKernel = new ParallelPackedMicroKernelMultiplication(ExecutionContext.callerRuns(context));
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.forkJoin()) {
+            return "Parallel Shape-Aware Multiplication";
+        }
+        return "Parallel Shape-Aware Multiplication (" + context.getName() + ")";
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
+        }
+
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        multiplyAccumulate(a, b, result, 1.0);
+        return result;
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            multiplyVector(a, b, c, alpha, beta);
+            return;
+        }
+
+        if (beta == 0.0) {
+            c.fill(0.0);
+        } else if (beta != 1.0) {
+            c.scale(beta);
+        }
+        if (alpha != 0.0) {
+            multiplyAccumulate(a, b, c, alpha);
+        }
+    }
+
+    /**
+     * Split an m x n x p product (n the shared dimension) into at least one block per worker
+     */
+    public Partition partition(int m, int n, int p) {
+        int workers = context.parallelism();
+        if ((long) m * n * p < PARALLEL_WORK_THRESHOLD || workers == 1) {
+            return new Partition(1, 1, 1);
+        }
+
+        int rowParts = 1, colParts = 1, depthParts = 1;
+        while (rowParts * colParts * depthParts < workers) {
+            int rowPart = m / rowParts, colPart = p / colParts, depthPart = n / depthParts;
+            boolean rowsSplittable = rowPart >= 2 * MIN_ROWS;
+            boolean colsSplittable = colPart >= 2 * MIN_COLS;
+            boolean depthSplittable = depthPart >= 2 * MIN_DEPTH;
+
+            if (depthSplittable && depthPart > DEPTH_SPLIT_COST * Math.max(rowsSplittable ? rowPart : 0, colsSplittable ? colPart : 0)) {
+                depthParts *= 2;
+            } else if (rowsSplittable && (rowPart >= colPart || !colsSplittable)) {
+                rowParts *= 2;
+            } else if (colsSplittable) {
+                colParts *= 2;
+            } else if (depthSplittable) {
+                depthParts *= 2;
+            } else {
+                break;
+            }
+        }
+        return new Partition(rowParts, colParts, depthParts);
+    }
+
+    /**
+     * C += alpha * A * B
+     */
+    private void multiplyAccumulate(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha) {
+        int m = a.rows();
+        int n = a.cols();
+        int p = b.cols();
+        if (m == 0 || n == 0 || p == 0) {
+            return;
+        }
+
+        Partition partition = partition(m, n, p);
+        if (partition.blocks() == 1) {
+            blockKernel.multiplyAccumulate(a, b, c, alpha);
+            return;
+        }
+
+        int[] rowBounds = bounds(m, partition.rowParts(), MR);
+        int[] colBounds = bounds(p, partition.colParts(), NR);
+        int[] depthBounds = bounds(n, partition.depthParts(), KC);
+
+        // Depth part 0 accumulates straight into C, every other one into its own m x p partial
+        DenseMatrix[] partials = new DenseMatrix[partition.depthParts()];
+        partials[0] = c;
+        for (int d = 1; d < partials.length; d++) {
+            partials[d] = new DenseMatrix(m, p);
+        }
+
+        int rowParts = partition.rowParts(), colParts = partition.colParts();
+        context.parallelFor(partition.blocks(), block -> {
+            int r = block % rowParts;
+            int col = (block / rowParts) % colParts;
+            int d = block / (rowParts * colParts);
+            int rowStart = rowBounds[r], colStart = colBounds[col], depthStart = depthBounds[d];
+            int rows = rowBounds[r + 1] - rowStart;
+            int cols = colBounds[col + 1] - colStart;
+            int depth = depthBounds[d + 1] - depthStart;
+
+            blockKernel.multiplyAccumulate(
+                    a.view(rowStart, depthStart, rows, depth),
+                    b.view(depthStart, colStart, depth, cols),
+                    partials[d].view(rowStart, colStart, rows, cols),
+                    alpha);
+        });
+
+        if (partials.length > 1) {
+            reduce(c, partials);
+        }
+    }
+
+    /**
+     * C += partials[1] + ... + partials[d - 1], parallel over rows
+     */
+    private void reduce(DenseMatrix c, DenseMatrix[] partials) {
+        int m = c.rows();
+        int p = c.cols();
+        int tasks = Math.max(1, Math.min(context.parallelism(), m));
+        int rowsPerTask = (m + tasks - 1) / tasks;
+        int vectorEnd = SPECIES.loopBound(p);
+        double[] cData = c.data();
+
+        context.parallelFor(tasks, t -> {
+            int end = Math.min(m, (t + 1) * rowsPerTask);
+            for (int i = t * rowsPerTask; i < end; i++) {
+                context.checkpoint();
+                int cRow = c.index(i, 0);
+                for (int d = 1; d < partials.length; d++) {
+                    double[] partial = partials[d].data();
+                    int pRow = partials[d].index(i, 0);
+                    int j = 0;
+                    for (; j < vectorEnd; j += SPECIES.length()) {
+                        DoubleVector.fromArray(SPECIES, cData, cRow + j)
+                                .add(DoubleVector.fromArray(SPECIES, partial, pRow + j))
+                                .intoArray(cData, cRow + j);
+                    }
+                    for (; j < p; j++) {
+                        cData[cRow + j] += partial[pRow + j];
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Boundaries of parts nearly equal in length, each a multiple of align except the last
+     */
+    private static int[] bounds(int extent, int parts, int align) {
+        int[] bounds = new int[parts + 1];
+        for (int i = 1; i < parts; i++) {
+            bounds[i] = Math.min(extent, roundUp((int) ((long) extent * i / parts), align));
+        }
+        bounds[parts] = extent;
+        return bounds;
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.CscMatrix;
+import org.example.Matrices.CsrMatrix;
+import org.example.Matrices.DenseMatrix;
+
+/**
+ * Multiplication that skips the zeros of sparse operands
+ *
+ * Dense inputs are scanned first: if A has at most {@link #DEFAULT_MAX_DENSITY} of
+ * its elements nonzero it is compressed to CSR and multiplied row by row against B,
+ * otherwise if B is that sparse it is compressed to CSC and every element of C
+ * becomes a sparse dot product. The scan and compression are O(size) and the
+ * product is O(nonzeros x other dimension), so work follows the nonzeros rather
+ * than m * n * p. When neither operand is sparse the call goes to the dense
+ * fallback algorithm. Callers holding CSR/CSC operands can skip the scan and call
+ * the typed overloads directly, including the sparse x sparse product.
+ */
+public class ParallelSparseMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    /**
+     * Largest fraction of nonzeros for which the sparse kernels beat the dense ones
+     */
+    public static final double DEFAULT_MAX_DENSITY = 0.05;
+
+    private final double maxDensity;
+    private final AbstractMatrixMultiplicationAlgorithm dense;
+    private final ExecutionContext context;
+
+    public ParallelSparseMultiplication() {
+        this(DEFAULT_MAX_DENSITY, new ParallelPackedMicroKernelMultiplication(), ExecutionContext.sharedPool());
+    }
+
+    /**
+     * @param maxDensity largest fraction of nonzeros for which an operand is treated as sparse
+     * @param dense      algorithm used when neither operand is sparse
+     */
+    public ParallelSparseMultiplication(double maxDensity, AbstractMatrixMultiplicationAlgorithm dense,
+                                        ExecutionContext context) {
+        if (maxDensity < 0.0 || maxDensity > 1.0) {
+            throw new IllegalArgumentException("Invalid density threshold " + maxDensity);
+        }
+        this.maxDensity = maxDensity;
+        this.dense = dense;
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel Sparse Multiplication";
+    }
+
+    public double maxDensity() {
+        return maxDensity;
+    }
+
+    /**
+     * True if A or B is sparse enough for this algorithm to take the sparse path
+     */
+    public boolean prefersSparse(DenseMatrix a, DenseMatrix b) {
+        return SparseKernel.isSparse(a, maxDensity) || SparseKernel.isSparse(b, maxDensity);
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        if (SparseKernel.isSparse(a, maxDensity)) {
+            return multiply(CsrMatrix.fromDense(a), b);
+        }
+        if (SparseKernel.isSparse(b, maxDensity)) {
+            return multiply(a, CscMatrix.fromDense(b));
+        }
+        return dense.multiply(a, b);
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        boolean sparseA = SparseKernel.isSparse(a, maxDensity);
+        if (!sparseA && !SparseKernel.isSparse(b, maxDensity)) {
+            dense.multiplyInto(a, b, c, alpha, beta);
+            return;
+        }
+
+        if (beta == 0.0) {
+            c.fill(0.0);
+        } else if (beta != 1.0) {
+            c.scale(beta);
+        }
+        if (sparseA) {
+            SparseKernel.multiplyAccumulate(CsrMatrix.fromDense(a), b, c, alpha, context);
+        } else {
+            SparseKernel.multiplyAccumulate(a, CscMatrix.fromDense(b), c, alpha, context);
+        }
+    }
+
+    /**
+     * Sparse A times dense B
+     */
+    public DenseMatrix multiply(CsrMatrix a, DenseMatrix b) {
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Invalid matrices for multiplication: " + a + " * " + b);
+        }
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        SparseKernel.multiplyAccumulate(a, b, result, 1.0, context);
+        return result;
+    }
+
+    /**
+     * Dense A times sparse B
+     */
+    public DenseMatrix multiply(DenseMatrix a, CscMatrix b) {
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Invalid matrices for multiplication: " + a + " * " + b);
+        }
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        SparseKernel.multiplyAccumulate(a, b, result, 1.0, context);
+        return result;
+    }
+
+    /**
+     * Sparse A times sparse B, with a sparse result
+     */
+    public CsrMatrix multiply(CsrMatrix a, CsrMatrix b) {
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Invalid matrices for multiplication: " + a + " * " + b);
+        }
+        return SparseKernel.multiply(a, b, context);
+    }
+}
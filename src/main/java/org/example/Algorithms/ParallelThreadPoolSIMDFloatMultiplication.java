@@ -0,0 +1,118 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.FloatMatrix;
+
+/**
+ * Single-precision version of {@link ParallelThreadPoolSIMDMultiplication}: rows are split
+ * across the threads of an {@link ExecutionContext} and every dot product runs over
+ * a transposed float copy of B, twice as many lanes per vector as the double version.
+ */
+public class ParallelThreadPoolSIMDFloatMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private final ExecutionContext context;
+
+    public ParallelThreadPoolSIMDFloatMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ParallelThreadPoolSIMDFloatMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        if (context == ExecutionContext.sharedPool()) {
+            return "Parallel Thread Pool SIMD Float Multiplication";
+        }
+        return "Parallel Thread Pool SIMD Float Multiplication (" + context.getName() + ")";
+    }
+
+    @Override
+    public Precision precision() {
+        return Precision.FLOAT;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(FloatMatrix.of(a), FloatMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(FloatMatrix.of(a), FloatMatrix.of(b)).toDense();
+    }
+
+    @Override
+    public FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        assert a.cols() == b.rows() : "Invalid matrices for multiplication";
+
+        int aRows = a.rows();
+        int aCols = a.cols();
+        int bCols = b.cols();
+
+        // Transpose matrix B for better cache locality
+        FloatMatrix bTransposed = b.transpose();
+        FloatMatrix result = new FloatMatrix(aRows, bCols);
+
+        // One contiguous range of rows per thread of the (long-lived) execution context
+        int threadCount = Math.max(1, Math.min(context.parallelism(), aRows));
+        int rowsPerThread = aRows / threadCount;
+
+        context.parallelFor(threadCount, t -> {
+            int startRow = t * rowsPerThread;
+            int endRow = (t == threadCount - 1) ? aRows : (t + 1) * rowsPerThread;
+            processRowRange(a, bTransposed, result, startRow, endRow, aCols, bCols);
+        });
+
+        return result;
+    }
+
+    /**
+     * Process a range of rows using SIMD operations
+     */
+    private void processRowRange(FloatMatrix a, FloatMatrix bTransposed, FloatMatrix result,
+                                 int startRow, int endRow, int aCols, int bCols) {
+        int vectorSize = SPECIES.length();
+        float[] aData = a.data();
+        float[] btData = bTransposed.data();
+        float[] resultData = result.data();
+
+        for (int i = startRow; i < endRow; i++) {
+            context.checkpoint();
+            int aRow = a.index(i, 0);
+            for (int j = 0; j < bCols; j++) {
+                int bRow = bTransposed.index(j, 0);
+                FloatVector acc = FloatVector.zero(SPECIES);
+                int k = 0;
+
+                for (; k <= aCols - vectorSize; k += vectorSize) {
+                    FloatVector av = FloatVector.fromArray(SPECIES, aData, aRow + k);
+                    FloatVector bv = FloatVector.fromArray(SPECIES, btData, bRow + k);
+                    acc = av.fma(bv, acc);
+                }
+                float sum = acc.reduceLanes(VectorOperators.ADD);
+
+                // Process remaining elements (less than a full vector)
+                for (; k < aCols; k++) {
+                    sum += aData[aRow + k] * btData[bRow + k];
+                }
+
+                resultData[result.index(i, j)] = sum;
+            }
+        }
+    }
+}
@@ -1,90 +1,136 @@
 package org.example.Algorithms;
 
 import jdk.incubator.vector.*;
-
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.PreparedOperand;
 
 /**
  * Matrix multiplication using SIMD instructions with lightweight parallelization
  * and transposed columns for better cache locality.
  * if u can tile this prolly will win, kinda getting array bounds exception when dividing by row/thread no kek
+ * Rows are split across the threads of an {@link ExecutionContext}, by default the shared pool.
  */
 public class ParallelThreadPoolSIMDMultiplication implements AbstractMatrixMultiplicationAlgorithm {
 
     private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
 
+    private final ExecutionContext context;
+
+    public ParallelThreadPoolSIMDMultiplication() {
+        this(ExecutionContext.sharedPool());
+    }
+
+    public ParallelThreadPoolSIMDMultiplication(ExecutionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ExecutionContext context() {
+        return context;
+    }
+
     @Override
     public String getName() {
-        return "Parallel Thread Pool SIMD Multiplication";
+        if (context == ExecutionContext.sharedPool()) {
+            return "Parallel Thread Pool SIMD Multiplication";
+        }
+        return "Parallel Thread Pool SIMD Multiplication (" + context.getName() + ")";
     }
 
     @Override
     public double[][] multiply(double[][] a, double[][] b) {
         assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
 
-        int aRows = a.length;
-        int aCols = a[0].length;
-        int bCols = b[0].length;
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        // Transpose matrix B for better cache locality
-        double[][] bTransposed = new double[bCols][b.length];
-        for (int i = 0; i < b.length; i++) {
-            for (int j = 0; j < bCols; j++) {
-                bTransposed[j][i] = b[i][j];
-            }
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
         }
 
-        // Create result matrix
-        double[][] result = new double[aRows][bCols];
+        // Transpose matrix B for better cache locality
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        multiplyTransposed(a, b.transpose(), result, 1.0, 0.0);
+        return result;
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
 
-        // Use a simple thread pool with one thread per available processor
-        int threadCount = Runtime.getRuntime().availableProcessors();
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        if (isVectorProduct(a, b)) {
+            multiplyVector(a, b, c, alpha, beta);
+            return;
+        }
 
-        // Split the work by rows for simple and efficient parallelization
-        int rowsPerThread = Math.max(1, aRows / threadCount);
+        // The transposed copy of B lives in a per-thread workspace, so repeated calls allocate nothing
+        TransposeWorkspace.withTransposed(b, bTransposed -> multiplyTransposed(a, bTransposed, c, alpha, beta));
+    }
 
-        for (int t = 0; t < threadCount; t++) {
-            final int startRow = t * rowsPerThread;
-            final int endRow = (t == threadCount - 1) ? aRows : (t + 1) * rowsPerThread;
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-            // Skip empty ranges
-            if (startRow >= aRows) continue;
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        multiplyTransposed(a, b.transposed(), result, 1.0, 0.0);
+        return result;
+    }
 
-            executor.execute(() -> processRowRange(a, bTransposed, result, startRow, endRow, aCols, bCols));
-        }
+    @Override
+    public void multiplyInto(DenseMatrix a, PreparedOperand b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
 
-        // Wait for all tasks to complete
-        executor.shutdown();
-        try {
-            executor.awaitTermination(1, TimeUnit.HOURS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        multiplyTransposed(a, b.transposed(), c, alpha, beta);
+    }
 
-        return result;
+    /**
+     * C = alpha * A * B + beta * C given the transpose of B
+     */
+    private void multiplyTransposed(DenseMatrix a, DenseMatrix bTransposed, DenseMatrix c,
+                                    double alpha, double beta) {
+        int aRows = a.rows();
+        int aCols = a.cols();
+        int bCols = bTransposed.rows();
+
+        // One contiguous range of rows per thread of the (long-lived) execution context
+        int threadCount = Math.max(1, Math.min(context.parallelism(), aRows));
+        int rowsPerThread = aRows / threadCount;
+
+        context.parallelFor(threadCount, t -> {
+            int startRow = t * rowsPerThread;
+            int endRow = (t == threadCount - 1) ? aRows : (t + 1) * rowsPerThread;
+            processRowRange(a, bTransposed, c, alpha, beta, startRow, endRow, aCols, bCols);
+        });
     }
 
     /**
      * Process a range of rows using SIMD operations
      */
-    private void processRowRange(double[][] a, double[][] bTransposed, double[][] result,
+    private void processRowRange(DenseMatrix a, DenseMatrix bTransposed, DenseMatrix result, double alpha, double beta,
                                  int startRow, int endRow, int aCols, int bCols) {
         // Get vector size for the current platform
         int vectorSize = SPECIES.length();
+        double[] aData = a.data();
+        double[] btData = bTransposed.data();
+        double[] resultData = result.data();
 
         for (int i = startRow; i < endRow; i++) {
+            context.checkpoint();
+            int aRow = a.index(i, 0);
             for (int j = 0; j < bCols; j++) {
+                int bRow = bTransposed.index(j, 0);
                 double sum = 0.0;
                 int k = 0;
 
                 // Process elements in SIMD-sized chunks
                 for (; k <= aCols - vectorSize; k += vectorSize) {
-                    DoubleVector av = DoubleVector.fromArray(SPECIES, a[i], k);
-                    DoubleVector bv = DoubleVector.fromArray(SPECIES, bTransposed[j], k);
+                    DoubleVector av = DoubleVector.fromArray(SPECIES, aData, aRow + k);
+                    DoubleVector bv = DoubleVector.fromArray(SPECIES, btData, bRow + k);
 
                     // Multiply corresponding elements and accumulate
                     sum += av.mul(bv).reduceLanes(VectorOperators.ADD);
@@ -92,11 +138,13 @@ public class ParallelThreadPoolSIMDMultiplication implements AbstractMatrixMulti
 
                 // Process remaining elements (less than a full vector)
                 for (; k < aCols; k++) {
-                    sum += a[i][k] * bTransposed[j][k];
+                    sum += aData[aRow + k] * btData[bRow + k];
                 }
 
-                result[i][j] = sum;
+                // beta == 0 must not read C, which may hold garbage
+                int index = result.index(i, j);
+                resultData[index] = beta == 0.0 ? alpha * sum : alpha * sum + beta * resultData[index];
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package org.example.Algorithms;
+
+/**
+ * Arithmetic precision of an algorithm, and the error its results are checked against
+ */
+public enum Precision {
+    /**
+     * Double storage and double accumulation
+     */
+    DOUBLE(1e-6),
+
+    /**
+     * Float storage with double accumulation: only the inputs are rounded
+     */
+    MIXED(1e-3),
+
+    /**
+     * Float storage and float accumulation
+     */
+    FLOAT(1e-2),
+
+    /**
+     * 16-bit integer storage with one scale per row or column, exact integer accumulation
+     */
+    INT16(1e-2),
+
+    /**
+     * 8-bit integer storage with one scale per row or column, exact integer accumulation
+     */
+    INT8(2.0);
+
+    private final double maxErrorPercent;
+
+    Precision(double maxErrorPercent) {
+        this.maxErrorPercent = maxErrorPercent;
+    }
+
+    /**
+     * Largest relative error, in percent, that {@link AbstractMatrixMultiplicationAlgorithm#test} accepts
+     */
+    public double maxErrorPercent() {
+        return maxErrorPercent;
+    }
+}
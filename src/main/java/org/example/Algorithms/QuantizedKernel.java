@@ -0,0 +1,162 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.Int16Matrix;
+import org.example.Matrices.Int8Matrix;
+
+/**
+ * Integer kernels behind {@link ParallelInt8SIMDMultiplication} and {@link ParallelInt16SIMDMultiplication}
+ *
+ * Both operands are row-quantized with the right-hand side stored by columns, so every
+ * element of C is one integer dot product of two contiguous rows scaled by one scale
+ * per side. Loads are full-width byte or short vectors, widened in parts to int lanes.
+ * Int8 products are summed in int32 lanes; int16 products can reach 2^30, so only
+ * pairs of them are summed in int32 before being widened into int64 lanes.
+ */
+final class QuantizedKernel {
+
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTE_SPECIES = VectorSpecies.of(byte.class, INT_SPECIES.vectorShape());
+    private static final VectorSpecies<Short> SHORT_SPECIES = VectorSpecies.of(short.class, INT_SPECIES.vectorShape());
+    private static final VectorSpecies<Long> LONG_SPECIES = VectorSpecies.of(long.class, INT_SPECIES.vectorShape());
+
+    // Longest int8 dot product that cannot overflow an int: 131072 * 127 * 127 < 2^31
+    private static final int INT8_BLOCK = 1 << 17;
+
+    // Columns of C computed per pass over a row range, so their rows of B stay in cache
+    private static final int COLUMN_BLOCK = 64;
+
+    private QuantizedKernel() {
+    }
+
+    /**
+     * C = alpha * A * B + beta * C, with B given by its quantized columns
+     */
+    static void multiplyInto(Int8Matrix a, Int8Matrix bColumns, DenseMatrix c, double alpha, double beta,
+                             ExecutionContext context) {
+        byte[] aData = a.data();
+        byte[] bData = bColumns.data();
+        int n = a.cols();
+
+        forEachElement(a.rows(), bColumns.rows(), context, (i, j) -> {
+            long sum = dot(aData, a.index(i, 0), bData, bColumns.index(j, 0), n);
+            store(c, i, j, alpha * a.scale(i) * bColumns.scale(j) * sum, beta);
+        });
+    }
+
+    /**
+     * C = alpha * A * B + beta * C, with B given by its quantized columns
+     */
+    static void multiplyInto(Int16Matrix a, Int16Matrix bColumns, DenseMatrix c, double alpha, double beta,
+                             ExecutionContext context) {
+        short[] aData = a.data();
+        short[] bData = bColumns.data();
+        int n = a.cols();
+
+        forEachElement(a.rows(), bColumns.rows(), context, (i, j) -> {
+            long sum = dot(aData, a.index(i, 0), bData, bColumns.index(j, 0), n);
+            store(c, i, j, alpha * a.scale(i) * bColumns.scale(j) * sum, beta);
+        });
+    }
+
+    /**
+     * Exact dot product of n int8 values
+     */
+    static long dot(byte[] a, int aOffset, byte[] b, int bOffset, int n) {
+        long total = 0;
+        for (int start = 0; start < n; start += INT8_BLOCK) {
+            total += dotBlock(a, aOffset + start, b, bOffset + start, Math.min(INT8_BLOCK, n - start));
+        }
+        return total;
+    }
+
+    private static int dotBlock(byte[] a, int aOffset, byte[] b, int bOffset, int n) {
+        IntVector acc = IntVector.zero(INT_SPECIES);
+        int parts = BYTE_SPECIES.length() / INT_SPECIES.length();
+        int vectorEnd = BYTE_SPECIES.loopBound(n);
+        int k = 0;
+
+        for (; k < vectorEnd; k += BYTE_SPECIES.length()) {
+            ByteVector av = ByteVector.fromArray(BYTE_SPECIES, a, aOffset + k);
+            ByteVector bv = ByteVector.fromArray(BYTE_SPECIES, b, bOffset + k);
+            for (int part = 0; part < parts; part++) {
+                IntVector ai = (IntVector) av.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+                IntVector bi = (IntVector) bv.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+                acc = acc.add(ai.mul(bi));
+            }
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+
+        // Process remaining elements
+        for (; k < n; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    /**
+     * Exact dot product of n int16 values
+     */
+    static long dot(short[] a, int aOffset, short[] b, int bOffset, int n) {
+        LongVector acc = LongVector.zero(LONG_SPECIES);
+        int vectorEnd = SHORT_SPECIES.loopBound(n);
+        int k = 0;
+
+        for (; k < vectorEnd; k += SHORT_SPECIES.length()) {
+            ShortVector av = ShortVector.fromArray(SHORT_SPECIES, a, aOffset + k);
+            ShortVector bv = ShortVector.fromArray(SHORT_SPECIES, b, bOffset + k);
+            IntVector low = ((IntVector) av.convertShape(VectorOperators.S2I, INT_SPECIES, 0))
+                    .mul((IntVector) bv.convertShape(VectorOperators.S2I, INT_SPECIES, 0));
+            IntVector high = ((IntVector) av.convertShape(VectorOperators.S2I, INT_SPECIES, 1))
+                    .mul((IntVector) bv.convertShape(VectorOperators.S2I, INT_SPECIES, 1));
+            // Two products of at most 32767^2 still fit in an int
+            IntVector pairs = low.add(high);
+            acc = acc.add(pairs.convertShape(VectorOperators.I2L, LONG_SPECIES, 0))
+                    .add(pairs.convertShape(VectorOperators.I2L, LONG_SPECIES, 1));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+
+        // Process remaining elements
+        for (; k < n; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    private static void store(DenseMatrix c, int i, int j, double value, double beta) {
+        double[] cData = c.data();
+        int index = c.index(i, j);
+        cData[index] = beta == 0.0 ? value : value + beta * cData[index];
+    }
+
+    @FunctionalInterface
+    private interface ElementConsumer {
+        void accept(int i, int j);
+    }
+
+    /**
+     * Visit every (i, j) of a rows x cols result, one contiguous row range per thread,
+     * walking the columns in blocks so each block of B is reused by every row of the range
+     */
+    private static void forEachElement(int rows, int cols, ExecutionContext context, ElementConsumer body) {
+        int threadCount = Math.max(1, Math.min(context.parallelism(), rows));
+        int rowsPerThread = rows / threadCount;
+
+        context.parallelFor(threadCount, t -> {
+            int startRow = t * rowsPerThread;
+            int endRow = (t == threadCount - 1) ? rows : (t + 1) * rowsPerThread;
+
+            for (int jj = 0; jj < cols; jj += COLUMN_BLOCK) {
+                context.checkpoint();
+                int jLimit = Math.min(jj + COLUMN_BLOCK, cols);
+                for (int i = startRow; i < endRow; i++) {
+                    for (int j = jj; j < jLimit; j++) {
+                        body.accept(i, j);
+                    }
+                }
+            }
+        });
+    }
+}
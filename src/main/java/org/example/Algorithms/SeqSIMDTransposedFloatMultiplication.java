@@ -0,0 +1,85 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.FloatMatrix;
+
+/**
+ * Single-precision matrix multiplication using SIMD instructions with transposed columns
+ *
+ * Same loop structure as {@link SeqSIMDTransposedMultiplication}, but every vector
+ * holds twice as many floats as it would doubles. Double inputs are rounded to float.
+ */
+public class SeqSIMDTransposedFloatMultiplication implements AbstractMatrixMultiplicationAlgorithm {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "Seq SIMD Transposed Float Multiplication";
+    }
+
+    @Override
+    public Precision precision() {
+        return Precision.FLOAT;
+    }
+
+    @Override
+    public double[][] multiply(double[][] a, double[][] b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(FloatMatrix.of(a), FloatMatrix.of(b)).toArray();
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiply(FloatMatrix.of(a), FloatMatrix.of(b)).toDense();
+    }
+
+    @Override
+    public FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        assert a.cols() == b.rows() : "Invalid matrices for multiplication";
+
+        int aRows = a.rows();
+        int aCols = a.cols();
+        int bCols = b.cols();
+
+        // Transpose matrix B for better cache locality
+        FloatMatrix bTransposed = b.transpose();
+
+        FloatMatrix result = new FloatMatrix(aRows, bCols);
+        float[] aData = a.data();
+        float[] btData = bTransposed.data();
+        float[] resultData = result.data();
+
+        int vectorSize = SPECIES.length();
+
+        for (int i = 0; i < aRows; i++) {
+            int aRow = i * aCols;
+            for (int j = 0; j < bCols; j++) {
+                int bRow = j * aCols;
+                FloatVector acc = FloatVector.zero(SPECIES);
+                int k = 0;
+
+                // Accumulate lane-wise and reduce once per element
+                for (; k <= aCols - vectorSize; k += vectorSize) {
+                    FloatVector av = FloatVector.fromArray(SPECIES, aData, aRow + k);
+                    FloatVector bv = FloatVector.fromArray(SPECIES, btData, bRow + k);
+                    acc = av.fma(bv, acc);
+                }
+                float sum = acc.reduceLanes(VectorOperators.ADD);
+
+                // Process remaining elements
+                for (; k < aCols; k++) {
+                    sum += aData[aRow + k] * btData[bRow + k];
+                }
+
+                resultData[i * bCols + j] = sum;
+            }
+        }
+
+        return result;
+    }
+}
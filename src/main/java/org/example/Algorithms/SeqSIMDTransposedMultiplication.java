@@ -1,6 +1,8 @@
 package org.example.Algorithms;
 
 import jdk.incubator.vector.*;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.PreparedOperand;
 
 /**
  * Matrix multiplication using SIMD instructions with transposed columns
@@ -18,34 +20,84 @@ public class SeqSIMDTransposedMultiplication implements AbstractMatrixMultiplica
     public double[][] multiply(double[][] a, double[][] b) {
         assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
 
-        int aRows = a.length;
-        int aCols = a[0].length;
-        int bCols = b[0].length;
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        // Transpose matrix B for better cache locality
-        double[][] bTransposed = new double[bCols][b.length];
-        for (int i = 0; i < b.length; i++) {
-            for (int j = 0; j < bCols; j++) {
-                bTransposed[j][i] = b[i][j];
-            }
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
         }
 
         // Create result matrix
-        double[][] result = new double[aRows][bCols];
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        multiplyInto(a, b, result, 1.0, 0.0);
+        return result;
+    }
+
+    /**
+     * C = alpha * A * B + beta * C; the transposed copy of B lives in a per-thread
+     * {@link TransposeWorkspace}, so repeated calls allocate nothing
+     */
+    @Override
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            multiplyVector(a, b, c, alpha, beta);
+            return;
+        }
+
+        // Transpose matrix B for better cache locality
+        TransposeWorkspace.withTransposed(b, bTransposed -> multiplyTransposed(a, bTransposed, c, alpha, beta));
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        DenseMatrix result = new DenseMatrix(a.rows(), b.cols());
+        multiplyTransposed(a, b.transposed(), result, 1.0, 0.0);
+        return result;
+    }
+
+    @Override
+    public void multiplyInto(DenseMatrix a, PreparedOperand b, DenseMatrix c, double alpha, double beta) {
+        assert checkIfValidForMultiplication(a, b, c) : "Invalid matrices for multiplication";
+
+        multiplyTransposed(a, b.transposed(), c, alpha, beta);
+    }
+
+    /**
+     * C = alpha * A * B + beta * C given the transpose of B
+     */
+    private static void multiplyTransposed(DenseMatrix a, DenseMatrix bTransposed, DenseMatrix c,
+                                           double alpha, double beta) {
+        int aRows = a.rows();
+        int aCols = a.cols();
+        int bCols = bTransposed.rows();
+
+        double[] aData = a.data();
+        double[] btData = bTransposed.data();
+        double[] resultData = c.data();
 
         // Get vector length for the current platform
         int vectorSize = SPECIES.length();
 
         for (int i = 0; i < aRows; i++) {
+            int aRow = a.index(i, 0);
+            int cRow = c.index(i, 0);
             for (int j = 0; j < bCols; j++) {
+                int bRow = bTransposed.index(j, 0);
                 double sum = 0.0;
                 int k = 0;
 
                 // Process elements in SIMD-sized chunks
                 for (; k <= aCols - vectorSize; k += vectorSize) {
-                    DoubleVector av = DoubleVector.fromArray(SPECIES, a[i], k);
-                    DoubleVector bv = DoubleVector.fromArray(SPECIES, bTransposed[j], k);
+                    DoubleVector av = DoubleVector.fromArray(SPECIES, aData, aRow + k);
+                    DoubleVector bv = DoubleVector.fromArray(SPECIES, btData, bRow + k);
 
                     // Multiply corresponding elements and accumulate
                     sum += av.mul(bv).reduceLanes(VectorOperators.ADD);
@@ -53,13 +105,12 @@ public class SeqSIMDTransposedMultiplication implements AbstractMatrixMultiplica
 
                 // Process remaining elements
                 for (; k < aCols; k++) {
-                    sum += a[i][k] * bTransposed[j][k];
+                    sum += aData[aRow + k] * btData[bRow + k];
                 }
 
-                result[i][j] = sum;
+                // beta == 0 must not read C, which may hold garbage
+                resultData[cRow + j] = beta == 0.0 ? alpha * sum : alpha * sum + beta * resultData[cRow + j];
             }
         }
-
-        return result;
     }
-}
\ No newline at end of file
+}
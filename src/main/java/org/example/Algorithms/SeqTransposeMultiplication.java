@@ -1,5 +1,8 @@
 package org.example.Algorithms;
 
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.PreparedOperand;
+
 /**
  * Transpose-based matrix multiplication algorithm
  *
@@ -12,29 +15,52 @@ public class SeqTransposeMultiplication implements AbstractMatrixMultiplicationA
     public double[][] multiply(double[][] a, double[][] b) {
         assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
 
-        int m = a.length;
-        int n = a[0].length;
-        int p = b[0].length;
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
 
-        // Transpose matrix B
-        double[][] bTransposed = new double[p][n];
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < p; j++) {
-                bTransposed[j][i] = b[i][j];
-            }
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        if (isVectorProduct(a, b)) {
+            return multiplyVector(a, b);
         }
 
-        double[][] result = new double[m][p];
+        // Transpose matrix B
+        return multiplyTransposed(a, b.transpose());
+    }
+
+    @Override
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        assert checkIfValidForMultiplication(a, b) : "Invalid matrices for multiplication";
+
+        return multiplyTransposed(a, b.transposed());
+    }
+
+    /**
+     * A * B given the contiguous transpose of B
+     */
+    private static DenseMatrix multiplyTransposed(DenseMatrix a, DenseMatrix bTransposed) {
+        int m = a.rows();
+        int n = a.cols();
+        int p = bTransposed.rows();
+
+        DenseMatrix result = new DenseMatrix(m, p);
+        double[] aData = a.data();
+        double[] btData = bTransposed.data();
+        double[] resultData = result.data();
+
         for (int i = 0; i < m; i++) {
+            int aRow = a.index(i, 0);
+            int resultRow = i * p;
             for (int j = 0; j < p; j++) {
                 double sum = 0.0;
-                double[] aRow = a[i];
-                double[] bTransposedRow = bTransposed[j];
+                int bTransposedRow = bTransposed.index(j, 0);
                 for (int k = 0; k < n; k++) {
-                    sum += aRow[k] * bTransposedRow[k];
+                    sum += aData[aRow + k] * btData[bTransposedRow + k];
                 }
 
-                result[i][j] = sum;
+                resultData[resultRow + j] = sum;
             }
         }
 
@@ -45,4 +71,4 @@ public class SeqTransposeMultiplication implements AbstractMatrixMultiplicationA
     public String getName() {
         return "Seq Transpose Multiplication";
     }
-}
\ No newline at end of file
+}
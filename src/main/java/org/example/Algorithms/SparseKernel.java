@@ -0,0 +1,227 @@
+package org.example.Algorithms;
+
+import jdk.incubator.vector.*;
+import org.example.Execution.ExecutionContext;
+import org.example.Matrices.CscMatrix;
+import org.example.Matrices.CsrMatrix;
+import org.example.Matrices.DenseMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Sparse kernels behind {@link ParallelSparseMultiplication}
+ *
+ * Work is split into row ranges holding roughly equal numbers of nonzeros rather
+ * than equal numbers of rows, so a few dense rows cannot leave the other threads
+ * idle. Every kernel touches each stored element of the sparse operand once per
+ * output row or column it contributes to, never the zeros.
+ */
+final class SparseKernel {
+
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // Roughly this many multiply-adds per parallel task
+    private static final long WORK_PER_TASK = 1L << 16;
+
+    // Rows of a sparse A between cancellation checkpoints; one row is often too little work to check for
+    private static final int CHECKPOINT_ROWS = 64;
+
+    private SparseKernel() {
+    }
+
+    /**
+     * True if at most the given fraction of the matrix's elements are nonzero.
+     * Stops scanning as soon as the matrix is known to be too dense.
+     */
+    static boolean isSparse(DenseMatrix matrix, double maxDensity) {
+        long limit = (long) (maxDensity * matrix.rows() * matrix.cols());
+        double[] data = matrix.data();
+        long nonZeros = 0;
+
+        for (int i = 0; i < matrix.rows(); i++) {
+            int start = matrix.index(i, 0);
+            for (int j = start; j < start + matrix.cols(); j++) {
+                if (data[j] != 0.0 && ++nonZeros > limit) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * C += alpha * A * B for sparse A and dense B. Each nonzero a(i, k) adds a scaled row k
+     * of B to row i of C with vector FMAs.
+     */
+    static void multiplyAccumulate(CsrMatrix a, DenseMatrix b, DenseMatrix c, double alpha, ExecutionContext context) {
+        int[] rowPtr = a.rowPtr();
+        int[] colIdx = a.colIdx();
+        double[] values = a.values();
+        double[] bData = b.data();
+        double[] cData = c.data();
+        int p = b.cols();
+        int vectorEnd = SPECIES.loopBound(p);
+
+        int[] bounds = balancedRowRanges(rowPtr, a.rows(), (long) p, context.parallelism());
+        context.parallelFor(bounds.length - 1, range -> {
+            for (int i = bounds[range]; i < bounds[range + 1]; i++) {
+                if (i % CHECKPOINT_ROWS == 0) {
+                    context.checkpoint();
+                }
+                int cRow = c.index(i, 0);
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                    double aik = alpha * values[k];
+                    int bRow = b.index(colIdx[k], 0);
+                    DoubleVector av = DoubleVector.broadcast(SPECIES, aik);
+
+                    int j = 0;
+                    for (; j < vectorEnd; j += SPECIES.length()) {
+                        DoubleVector bv = DoubleVector.fromArray(SPECIES, bData, bRow + j);
+                        DoubleVector cv = DoubleVector.fromArray(SPECIES, cData, cRow + j);
+                        bv.fma(av, cv).intoArray(cData, cRow + j);
+                    }
+                    for (; j < p; j++) {
+                        cData[cRow + j] += aik * bData[bRow + j];
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * C += alpha * A * B for dense A and sparse B: every element of C is a sparse dot product
+     * of a row of A with a column of B
+     */
+    static void multiplyAccumulate(DenseMatrix a, CscMatrix b, DenseMatrix c, double alpha, ExecutionContext context) {
+        int[] colPtr = b.colPtr();
+        int[] rowIdx = b.rowIdx();
+        double[] values = b.values();
+        double[] aData = a.data();
+        double[] cData = c.data();
+        int m = a.rows();
+        int p = b.cols();
+
+        int rowsPerTask = (int) Math.max(1, Math.min(m, WORK_PER_TASK / Math.max(1, b.nonZeros())));
+        int tasks = (m + rowsPerTask - 1) / rowsPerTask;
+        context.parallelFor(tasks, task -> {
+            int rowEnd = Math.min(m, (task + 1) * rowsPerTask);
+            for (int i = task * rowsPerTask; i < rowEnd; i++) {
+                context.checkpoint();
+                int aRow = a.index(i, 0);
+                int cRow = c.index(i, 0);
+                for (int j = 0; j < p; j++) {
+                    double sum = 0.0;
+                    for (int k = colPtr[j]; k < colPtr[j + 1]; k++) {
+                        sum += aData[aRow + rowIdx[k]] * values[k];
+                    }
+                    cData[cRow + j] += alpha * sum;
+                }
+            }
+        });
+    }
+
+    /**
+     * Gustavson's row-by-row sparse product A * B. Each task scatters the rows of B picked
+     * out by one row of A into a dense accumulator, then gathers the touched columns
+     * in sorted order; the per-task pieces are stitched into one CSR matrix at the end.
+     */
+    static CsrMatrix multiply(CsrMatrix a, CsrMatrix b, ExecutionContext context) {
+        int m = a.rows();
+        int p = b.cols();
+        int[] aPtr = a.rowPtr(), aIdx = a.colIdx();
+        int[] bPtr = b.rowPtr(), bIdx = b.colIdx();
+        double[] aValues = a.values(), bValues = b.values();
+
+        // Estimate each row's work as the nonzeros of B it touches, for balancing
+        int[] bounds = balancedRowRanges(aPtr, m, Math.max(1, b.nonZeros() / Math.max(1, b.rows())),
+                context.parallelism());
+        int ranges = bounds.length - 1;
+        int[][] pieceIdx = new int[ranges][];
+        double[][] pieceValues = new double[ranges][];
+        int[] rowCounts = new int[m];
+
+        context.parallelFor(ranges, range -> {
+            double[] accumulator = new double[p];
+            boolean[] touched = new boolean[p];
+            int[] columns = new int[p];
+            int[] outIdx = new int[16];
+            double[] outValues = new double[16];
+            int out = 0;
+
+            for (int i = bounds[range]; i < bounds[range + 1]; i++) {
+                if (i % CHECKPOINT_ROWS == 0) {
+                    context.checkpoint();
+                }
+                int count = 0;
+                for (int ka = aPtr[i]; ka < aPtr[i + 1]; ka++) {
+                    double aik = aValues[ka];
+                    int k = aIdx[ka];
+                    for (int kb = bPtr[k]; kb < bPtr[k + 1]; kb++) {
+                        int j = bIdx[kb];
+                        if (!touched[j]) {
+                            touched[j] = true;
+                            columns[count++] = j;
+                        }
+                        accumulator[j] += aik * bValues[kb];
+                    }
+                }
+
+                Arrays.sort(columns, 0, count);
+                if (out + count > outIdx.length) {
+                    int capacity = Math.max(outIdx.length * 2, out + count);
+                    outIdx = Arrays.copyOf(outIdx, capacity);
+                    outValues = Arrays.copyOf(outValues, capacity);
+                }
+                for (int t = 0; t < count; t++) {
+                    int j = columns[t];
+                    outIdx[out] = j;
+                    outValues[out++] = accumulator[j];
+                    accumulator[j] = 0.0;
+                    touched[j] = false;
+                }
+                rowCounts[i] = count;
+            }
+            pieceIdx[range] = outIdx;
+            pieceValues[range] = outValues;
+        });
+
+        int[] rowPtr = new int[m + 1];
+        for (int i = 0; i < m; i++) {
+            rowPtr[i + 1] = Math.addExact(rowPtr[i], rowCounts[i]);
+        }
+        int[] colIdx = new int[rowPtr[m]];
+        double[] values = new double[rowPtr[m]];
+        for (int range = 0; range < ranges; range++) {
+            int start = rowPtr[bounds[range]];
+            int length = rowPtr[bounds[range + 1]] - start;
+            System.arraycopy(pieceIdx[range], 0, colIdx, start, length);
+            System.arraycopy(pieceValues[range], 0, values, start, length);
+        }
+        return new CsrMatrix(m, p, rowPtr, colIdx, values);
+    }
+
+    /**
+     * Cut rows [0, rows) into contiguous ranges of similar cost, where a row costs its
+     * nonzeros times costPerNonZero plus one. Returns the range boundaries.
+     */
+    private static int[] balancedRowRanges(int[] rowPtr, int rows, long costPerNonZero, int parallelism) {
+        long total = (long) rowPtr[rows] * costPerNonZero + rows;
+        int ranges = (int) Math.max(1, Math.min(Math.min(rows, parallelism * 4L),
+                (total + WORK_PER_TASK - 1) / WORK_PER_TASK));
+        long target = (total + ranges - 1) / ranges;
+
+        int[] bounds = new int[ranges + 1];
+        int range = 1;
+        long cost = 0;
+        for (int i = 0; i < rows && range < ranges; i++) {
+            cost += (long) (rowPtr[i + 1] - rowPtr[i]) * costPerNonZero + 1;
+            if (cost >= target * range) {
+                bounds[range++] = i + 1;
+            }
+        }
+        while (range <= ranges) {
+            bounds[range++] = rows;
+        }
+        return bounds;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.Algorithms;
+
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.Workspace;
+
+import java.util.function.Consumer;
+
+/**
+ * Per-thread buffer for the transposed copy of B read by the transposing kernels
+ *
+ * Repeated calls on one thread reuse the same buffer, so they allocate nothing once
+ * it has grown to the working set. The buffer is claimed with
+ * {@link Workspace#acquire()} for the length of the call, so a thread that starts a
+ * second multiplication while inside one (a Fork/Join worker joining, say) gets a
+ * temporary buffer instead of overwriting the first. Transposes above
+ * {@link #RETAINED_BYTES} also get a temporary buffer, so one huge call does not pin
+ * its copy of B to the thread for the rest of its life.
+ */
+final class TransposeWorkspace {
+
+    /**
+     * Largest transpose kept for reuse by each thread
+     */
+    static final long RETAINED_BYTES = 32L << 20;
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(() -> new Workspace(1));
+
+    private TransposeWorkspace() {
+    }
+
+    /**
+     * Transpose b into a scratch buffer and run body on it; the buffer must not escape body
+     */
+    static void withTransposed(DenseMatrix b, Consumer<DenseMatrix> body) {
+        Workspace workspace = WORKSPACE.get();
+        boolean retained = (long) b.rows() * b.cols() * Double.BYTES <= RETAINED_BYTES;
+        boolean owned = retained && workspace.acquire();
+        try {
+            DenseMatrix bTransposed = (owned ? workspace : new Workspace(1)).matrix(0, b.cols(), b.rows());
+            b.transposeInto(bTransposed);
+            body.accept(bTransposed);
+        } finally {
+            if (owned) {
+                workspace.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+
+/**
+ * A fixed number of row-pulling workers, each on its own virtual thread
+ *
+ * Same work split as {@link ConcurrentFixedThreadMultiplication}; the workers are
+ * started per call as virtual threads rather than borrowed from the shared pool.
+ */
+public class VirtualThreadFixedThreadMultiplication extends ConcurrentFixedThreadMultiplication {
+
+    public VirtualThreadFixedThreadMultiplication() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public VirtualThreadFixedThreadMultiplication(int threadCount) {
+        super(threadCount, ExecutionContext.virtualThreads());
+    }
+
+    @Override
+    public String getName() {
+        return "Virtual Thread Fixed Thread Multiplication (" + threadCount() + " threads)";
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.Algorithms;
+
+import org.example.Execution.ExecutionContext;
+
+/**
+ * Task-per-row multiplication with every row on its own virtual thread
+ *
+ * Same work split as {@link ConcurrentRowMultiplication}, but instead of sharing a
+ * fixed pool with every other caller in the JVM, each call starts one virtual
+ * thread per row and leaves scheduling to the carrier threads.
+ */
+public class VirtualThreadRowMultiplication extends ConcurrentRowMultiplication {
+
+    public VirtualThreadRowMultiplication() {
+        super(ExecutionContext.virtualThreads());
+    }
+
+    @Override
+    public String getName() {
+        return "Virtual Thread Row Multiplication";
+    }
+}
@@ -0,0 +1,135 @@
+package org.example;
+
+import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Algorithms.ParallelOffHeapSIMDMultiplication;
+import org.example.Algorithms.ParallelPackedMicroKernelMultiplication;
+import org.example.Algorithms.SeqSIMDTransposedMultiplication;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.OffHeapMatrix;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocating multiply() against output-buffer multiplyInto() under the GC profiler
+ *
+ * Run through main() (or with -prof gc) and compare gc.alloc.rate.norm: multiply()
+ * pays for a fresh result every call, multiplyInto() writes into a preallocated C
+ * and reuses the algorithm's per-thread workspaces, so in steady state it should
+ * report zero bytes per operation. multiplyOffHeap keeps all three operands in
+ * off-heap segments, so neither its allocation rate nor the heap it needs grows
+ * with the matrix size.
+ */
+public class AllocationBenchmark {
+
+    @State(Scope.Thread)
+    public static class IntoState extends BenchmarkState {
+        @Param({"packed", "simd-transposed"})
+        public String variant;
+
+        public DenseMatrix result;
+
+        @Setup(Level.Trial)
+        public void setupAlgorithm() {
+            setAlgorithm(switch (variant) {
+                case "packed" -> new ParallelPackedMicroKernelMultiplication();
+                case "simd-transposed" -> new SeqSIMDTransposedMultiplication();
+                default -> throw new IllegalArgumentException("Unknown variant: " + variant);
+            });
+            result = new DenseMatrix(size, size);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OffHeapState {
+        @Param({"64", "256", "1000"})
+        public int size;
+
+        public final ParallelOffHeapSIMDMultiplication algorithm = new ParallelOffHeapSIMDMultiplication();
+        public OffHeapMatrix a;
+        public OffHeapMatrix b;
+        public OffHeapMatrix result;
+
+        @Setup(Level.Trial)
+        public void setupMatrices() {
+            a = OffHeapMatrix.of(MatrixUtils.randomDense(size, size));
+            b = OffHeapMatrix.of(MatrixUtils.randomDense(size, size));
+            result = new OffHeapMatrix(size, size);
+        }
+
+        @TearDown(Level.Trial)
+        public void freeMatrices() {
+            a.close();
+            b.close();
+            result.close();
+        }
+    }
+
+    /**
+     * Allocates the result on every call
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(value = BenchmarkOptions.FORKS)
+    @Warmup(iterations = BenchmarkOptions.WARMUP_ITERATIONS, time = 2)
+    @Measurement(iterations = BenchmarkOptions.MEASUREMENT_ITERATIONS, time = 2)
+    public void multiply(IntoState state, Blackhole blackhole) {
+        blackhole.consume(state.getAlgorithm().multiply(state.denseA, state.denseB));
+    }
+
+    /**
+     * Writes into the preallocated result
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(value = BenchmarkOptions.FORKS)
+    @Warmup(iterations = BenchmarkOptions.WARMUP_ITERATIONS, time = 2)
+    @Measurement(iterations = BenchmarkOptions.MEASUREMENT_ITERATIONS, time = 2)
+    public void multiplyInto(IntoState state, Blackhole blackhole) {
+        AbstractMatrixMultiplicationAlgorithm algorithm = state.getAlgorithm();
+        algorithm.multiplyInto(state.denseA, state.denseB, state.result, 1.0, 0.0);
+        blackhole.consume(state.result);
+    }
+
+    /**
+     * Off-heap operands and result, written in place
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(value = BenchmarkOptions.FORKS)
+    @Warmup(iterations = BenchmarkOptions.WARMUP_ITERATIONS, time = 2)
+    @Measurement(iterations = BenchmarkOptions.MEASUREMENT_ITERATIONS, time = 2)
+    public void multiplyOffHeap(OffHeapState state, Blackhole blackhole) {
+        state.algorithm.multiplyInto(state.a, state.b, state.result, 1.0, 0.0);
+        blackhole.consume(state.result);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(AllocationBenchmark.class.getSimpleName())
+                .param("size", "64", "256", "1000")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(BenchmarkOptions.WARMUP_ITERATIONS)
+                .warmupTime(BenchmarkOptions.ITERATION_TIME)
+                .measurementIterations(BenchmarkOptions.MEASUREMENT_ITERATIONS)
+                .measurementTime(BenchmarkOptions.ITERATION_TIME)
+                .forks(BenchmarkOptions.FORKS)
+                .resultFormat(ResultFormatType.CSV)
+                .result("allocation-benchmark-results.csv")
+                .jvmArgs("-Xms1g", "-Xmx1g", "--add-modules=jdk.incubator.vector", "--enable-preview")
+                .build();
+
+        new Runner(options).run();
+
+        System.out.println("\nBenchmark complete. Compare gc.alloc.rate.norm in 'allocation-benchmark-results.csv'");
+    }
+}
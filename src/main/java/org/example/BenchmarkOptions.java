@@ -0,0 +1,202 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.LinuxPerfNormProfiler;
+import org.openjdk.jmh.profile.StackProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Run settings shared by the benchmark mains, and GFLOP/s reporting of their results
+ *
+ * Three forks of ten measured iterations each give JMH thirty samples per result,
+ * spread over separate JVMs, so its 99.9% confidence intervals are narrow enough to
+ * tell a real regression from run-to-run and JIT-to-JIT noise. A single fork of two
+ * iterations gives an error column that is NaN or too wide to mean anything.
+ *
+ * Profilers come from -Dbenchmark.profilers (default "gc,stack,perfnorm"). perfnorm
+ * needs Linux perf and is skipped with a warning where perf is not installed.
+ * -Dbenchmark.sizes (comma-separated) and -Dbenchmark.algorithms (a regex on the
+ * algorithm name) narrow or widen the params a main runs with, and -Dbenchmark.jagged=true
+ * adds the double[][] benchmarks a main leaves out by default.
+ */
+final class BenchmarkOptions {
+
+    static final int FORKS = 3;
+    static final int WARMUP_ITERATIONS = 5;
+    static final int MEASUREMENT_ITERATIONS = 10;
+    static final TimeValue ITERATION_TIME = TimeValue.seconds(2);
+
+    static final String PROFILERS_PROPERTY = "benchmark.profilers";
+    static final String DEFAULT_PROFILERS = "gc,stack,perfnorm";
+    static final String SIZES_PROPERTY = "benchmark.sizes";
+    static final String ALGORITHMS_PROPERTY = "benchmark.algorithms";
+    static final String JAGGED_PROPERTY = "benchmark.jagged";
+
+    private BenchmarkOptions() {
+    }
+
+    /**
+     * Forks, iterations, JVM flags and profilers for one benchmark class; callers add params and the result file
+     */
+    static ChainedOptionsBuilder defaults(Class<?> benchmark, String... jvmArgs) {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(benchmark.getSimpleName())
+                .forks(FORKS)
+                .warmupIterations(WARMUP_ITERATIONS)
+                .warmupTime(ITERATION_TIME)
+                .measurementIterations(MEASUREMENT_ITERATIONS)
+                .measurementTime(ITERATION_TIME)
+                .timeout(TimeValue.minutes(30))
+                .shouldDoGC(true)
+                .jvmArgs("--add-modules=jdk.incubator.vector", "--enable-preview")
+                .jvmArgsAppend(jvmArgs);
+        return addProfilers(builder);
+    }
+
+    private static ChainedOptionsBuilder addProfilers(ChainedOptionsBuilder builder) {
+        String profilers = System.getProperty(PROFILERS_PROPERTY, DEFAULT_PROFILERS);
+        for (String profiler : profilers.split(",")) {
+            switch (profiler.trim().toLowerCase(Locale.ROOT)) {
+                case "" -> {
+                }
+                case "gc" -> builder.addProfiler(GCProfiler.class);
+                case "stack" -> builder.addProfiler(StackProfiler.class, "lines=5;top=10");
+                case "perfnorm" -> {
+                    if (perfAvailable()) {
+                        builder.addProfiler(LinuxPerfNormProfiler.class);
+                    } else {
+                        System.err.println("Skipping perfnorm profiler: perf is not on the PATH");
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown profiler: " + profiler);
+            }
+        }
+        return builder;
+    }
+
+    private static boolean perfAvailable() {
+        String path = System.getenv("PATH");
+        if (path == null || !System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("linux")) {
+            return false;
+        }
+        for (String directory : path.split(File.pathSeparator)) {
+            if (Files.isExecutable(Path.of(directory, "perf"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comma-separated values of a system property, or the defaults if it is not set
+     */
+    static String[] listProperty(String property, String... defaults) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            return defaults;
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * The names matching the -Dbenchmark.algorithms regex, or all of them if it is not set
+     */
+    static String[] selectAlgorithms(String[] names) {
+        String regex = System.getProperty(ALGORITHMS_PROPERTY);
+        if (regex == null || regex.isBlank()) {
+            return names;
+        }
+        Pattern pattern = Pattern.compile(regex);
+        return Arrays.stream(names)
+                .filter(name -> pattern.matcher(name).find())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Floating point operations of one benchmark call: 2 * m * n * p from the "shape" param
+     * ("m x n x p") or from a square "size" param
+     */
+    static double flops(BenchmarkParams params) {
+        String shape = params.getParam("shape");
+        if (shape != null) {
+            int[] dims = parseShape(shape);
+            return 2.0 * dims[0] * dims[1] * dims[2];
+        }
+        String size = params.getParam("size");
+        if (size != null) {
+            double n = Integer.parseInt(size);
+            return 2.0 * n * n * n;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Parse "m x n x p" (e.g. "2000x500x3000") into {m, n, p}
+     */
+    static int[] parseShape(String shape) {
+        String[] parts = shape.toLowerCase(Locale.ROOT).split("x");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Shape must be m x n x p: " + shape);
+        }
+        return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim())};
+    }
+
+    /**
+     * Print every result as GFLOP/s with its confidence interval and write the same table as CSV
+     */
+    static void reportGflops(Collection<RunResult> results, String csvFile) throws IOException {
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(Path.of(csvFile)))) {
+            csv.println("benchmark,mode,params,score,error,unit,gflops,gflops_low,gflops_high");
+            System.out.println("\n===== GFLOP/s =====");
+
+            for (RunResult run : results) {
+                BenchmarkParams params = run.getParams();
+                Result<?> primary = run.getPrimaryResult();
+                double[] confidence = primary.getScoreConfidence();
+                double gflops = gflops(params, primary.getScore());
+                // Time per call and GFLOP/s are inversely related, so the bounds swap for time modes
+                double bound0 = gflops(params, confidence[0]);
+                double bound1 = gflops(params, confidence[1]);
+                double low = Math.min(bound0, bound1);
+                double high = Math.max(bound0, bound1);
+
+                String paramList = String.join(";", params.getParamsKeys().stream()
+                        .map(key -> key + "=" + params.getParam(key))
+                        .toList());
+                System.out.printf(Locale.ROOT, "%-60s %-45s %10.2f GFLOP/s  [%.2f, %.2f]%n",
+                        params.getBenchmark(), paramList, gflops, low, high);
+                csv.printf(Locale.ROOT, "%s,%s,%s,%.6f,%.6f,%s,%.4f,%.4f,%.4f%n",
+                        params.getBenchmark(), params.getMode().shortLabel(), paramList,
+                        primary.getScore(), primary.getScoreError(), primary.getScoreUnit(), gflops, low, high);
+            }
+        }
+    }
+
+    private static double gflops(BenchmarkParams params, double score) {
+        double nanosPerUnit = params.getTimeUnit().toNanos(1);
+        double flops = flops(params);
+        if (params.getMode() == Mode.Throughput) {
+            return flops * score / nanosPerUnit;
+        }
+        return flops / (score * nanosPerUnit);
+    }
+}
@@ -1,6 +1,7 @@
 package org.example;
 
 import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Matrices.DenseMatrix;
 import org.openjdk.jmh.annotations.*;
 
 /**
@@ -13,6 +14,8 @@ public class BenchmarkState {
 
     public double[][] matrixA;
     public double[][] matrixB;
+    public DenseMatrix denseA;
+    public DenseMatrix denseB;
     private AbstractMatrixMultiplicationAlgorithm algorithm;
 
     @Setup(Level.Trial)
@@ -22,6 +25,8 @@ public class BenchmarkState {
 
         matrixA = MatrixUtils.random(size, size);
         matrixB = MatrixUtils.random(size, size);
+        denseA = DenseMatrix.of(matrixA);
+        denseB = DenseMatrix.of(matrixB);
     }
 
     @TearDown(Level.Trial)
@@ -29,6 +34,8 @@ public class BenchmarkState {
         System.out.println("Cleaning up matrices of size " + size + "x" + size);
         matrixA = null;
         matrixB = null;
+        denseA = null;
+        denseB = null;
         System.gc();
     }
 
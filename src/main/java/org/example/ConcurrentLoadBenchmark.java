@@ -0,0 +1,98 @@
+package org.example;
+
+import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Algorithms.ConcurrentFixedThreadMultiplication;
+import org.example.Algorithms.ConcurrentRowMultiplication;
+import org.example.Algorithms.ParallelForkJoinMultiplication;
+import org.example.Algorithms.VirtualThreadFixedThreadMultiplication;
+import org.example.Algorithms.VirtualThreadRowMultiplication;
+import org.example.Execution.ExecutionContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many multiplications in flight at once, as in a server handling concurrent requests
+ *
+ * Every JMH thread is one client calling multiply() in a loop on the same shared
+ * operands, so the variants compete for cores the way they would under real load:
+ * task-per-row and fixed workers on the shared platform pool, the same splits on
+ * virtual threads, and Fork/Join both as a plain executor and with its recursive
+ * quadrant algorithm. main() repeats the run for several client counts.
+ */
+public class ConcurrentLoadBenchmark {
+
+    private static final int[] CLIENT_THREADS = {1, 4, 16};
+
+    @State(Scope.Benchmark)
+    public static class LoadState extends BenchmarkState {
+        @Param({"row-platform", "row-virtual", "row-forkjoin", "fixed-platform", "fixed-virtual", "forkjoin-recursive"})
+        public String variant;
+
+        @Setup(Level.Trial)
+        public void setupAlgorithm() {
+            setAlgorithm(create(variant));
+            System.out.println("Testing " + getAlgorithm().getName() + " under concurrent load");
+        }
+
+        private static AbstractMatrixMultiplicationAlgorithm create(String variant) {
+            return switch (variant) {
+                case "row-platform" -> new ConcurrentRowMultiplication();
+                case "row-virtual" -> new VirtualThreadRowMultiplication();
+                case "row-forkjoin" -> new ConcurrentRowMultiplication(ExecutionContext.forkJoin());
+                case "fixed-platform" -> new ConcurrentFixedThreadMultiplication();
+                case "fixed-virtual" -> new VirtualThreadFixedThreadMultiplication();
+                case "forkjoin-recursive" -> new ParallelForkJoinMultiplication();
+                default -> throw new IllegalArgumentException("Unknown variant: " + variant);
+            };
+        }
+    }
+
+    /**
+     * One client request; run by every benchmark thread at the same time
+     */
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(value = BenchmarkOptions.FORKS)
+    @Warmup(iterations = BenchmarkOptions.WARMUP_ITERATIONS, time = 2)
+    @Measurement(iterations = BenchmarkOptions.MEASUREMENT_ITERATIONS, time = 2)
+    public void multiplyUnderLoad(LoadState state, Blackhole blackhole) {
+        blackhole.consume(state.getAlgorithm().multiply(state.matrixA, state.matrixB));
+    }
+
+    /**
+     * Run the comparison once per client thread count
+     */
+    public static void main(String[] args) throws RunnerException {
+        System.out.println("===== CONCURRENT LOAD BENCHMARK =====");
+
+        for (int clients : CLIENT_THREADS) {
+            System.out.println("\nRunning with " + clients + " concurrent clients...");
+
+            var options = new OptionsBuilder()
+                    .include(ConcurrentLoadBenchmark.class.getSimpleName())
+                    .param("size", "64", "256")
+                    .threads(clients)
+                    .warmupIterations(BenchmarkOptions.WARMUP_ITERATIONS)
+                    .warmupTime(BenchmarkOptions.ITERATION_TIME)
+                    .measurementIterations(BenchmarkOptions.MEASUREMENT_ITERATIONS)
+                    .measurementTime(BenchmarkOptions.ITERATION_TIME)
+                    .forks(BenchmarkOptions.FORKS)
+                    .shouldDoGC(true)
+                    .resultFormat(ResultFormatType.CSV)
+                    .result("concurrent-load-benchmark-results-" + clients + "-clients.csv")
+                    .jvmArgs("-Xms2g", "-Xmx4g", "--add-modules=jdk.incubator.vector", "--enable-preview")
+                    .build();
+
+            new Runner(options).run();
+        }
+
+        System.out.println("\nBenchmark complete. Results have been saved to 'concurrent-load-benchmark-results-*-clients.csv'");
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.Distributed;
+
+import org.example.Matrices.DenseMatrix;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the block protocol
+ *
+ * Request:  kind (byte), job (long), block row (int), block column (int), then for
+ *           ACCUMULATE the two blocks.
+ * Response: status (byte): OK with no body, OK followed by a block, or ERROR followed
+ *           by a UTF message.
+ * Block:    rows (int), cols (int), then rows * cols big-endian doubles, row by row.
+ */
+final class BlockProtocol {
+
+    static final byte OK = 0;
+    static final byte OK_BLOCK = 1;
+    static final byte ERROR = 2;
+
+    private static final BlockRequest.Kind[] KINDS = BlockRequest.Kind.values();
+
+    private BlockProtocol() {
+    }
+
+    static void writeRequest(DataOutputStream out, BlockRequest request) throws IOException {
+        out.writeByte(request.kind().ordinal());
+        out.writeLong(request.job());
+        out.writeInt(request.blockRow());
+        out.writeInt(request.blockCol());
+        if (request.kind() == BlockRequest.Kind.ACCUMULATE) {
+            writeBlock(out, request.a());
+            writeBlock(out, request.b());
+        }
+        out.flush();
+    }
+
+    static BlockRequest readRequest(DataInputStream in) throws IOException {
+        int kind = in.readUnsignedByte();
+        if (kind >= KINDS.length) {
+            throw new IOException("Unknown request kind " + kind);
+        }
+        long job = in.readLong();
+        int blockRow = in.readInt();
+        int blockCol = in.readInt();
+        if (KINDS[kind] == BlockRequest.Kind.ACCUMULATE) {
+            return BlockRequest.accumulate(job, blockRow, blockCol, readBlock(in), readBlock(in));
+        }
+        return new BlockRequest(KINDS[kind], job, blockRow, blockCol, null, null);
+    }
+
+    static void writeResponse(DataOutputStream out, DenseMatrix block) throws IOException {
+        if (block == null) {
+            out.writeByte(OK);
+        } else {
+            out.writeByte(OK_BLOCK);
+            writeBlock(out, block);
+        }
+        out.flush();
+    }
+
+    static void writeError(DataOutputStream out, Throwable error) throws IOException {
+        out.writeByte(ERROR);
+        out.writeUTF(String.valueOf(error));
+        out.flush();
+    }
+
+    /**
+     * Read a response, returning its block (null for a plain OK) or throwing the worker's error
+     */
+    static DenseMatrix readResponse(DataInputStream in) throws IOException, WorkerException {
+        byte status = in.readByte();
+        return switch (status) {
+            case OK -> null;
+            case OK_BLOCK -> readBlock(in);
+            case ERROR -> throw new WorkerException(in.readUTF());
+            default -> throw new IOException("Unknown response status " + status);
+        };
+    }
+
+    static void writeBlock(DataOutputStream out, DenseMatrix block) throws IOException {
+        int rows = block.rows();
+        int cols = block.cols();
+        out.writeInt(rows);
+        out.writeInt(cols);
+
+        ByteBuffer row = ByteBuffer.allocate(cols * Double.BYTES);
+        double[] data = block.data();
+        for (int i = 0; i < rows; i++) {
+            row.clear();
+            row.asDoubleBuffer().put(data, block.index(i, 0), cols);
+            out.write(row.array(), 0, row.capacity());
+        }
+    }
+
+    static DenseMatrix readBlock(DataInputStream in) throws IOException {
+        int rows = in.readInt();
+        int cols = in.readInt();
+        if (rows < 0 || cols < 0) {
+            throw new IOException("Invalid block shape " + rows + "x" + cols);
+        }
+
+        DenseMatrix block = new DenseMatrix(rows, cols);
+        ByteBuffer row = ByteBuffer.allocate(cols * Double.BYTES);
+        double[] data = block.data();
+        for (int i = 0; i < rows; i++) {
+            in.readFully(row.array());
+            row.asDoubleBuffer().get(data, i * cols, cols);
+        }
+        return block;
+    }
+
+    /**
+     * A request the worker received but could not handle
+     */
+    static final class WorkerException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        WorkerException(String message) {
+            super(message);
+        }
+    }
+}
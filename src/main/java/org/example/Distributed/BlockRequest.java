@@ -0,0 +1,41 @@
+package org.example.Distributed;
+
+import org.example.Matrices.DenseMatrix;
+
+/**
+ * One message from the coordinator to a block worker
+ *
+ * Workers keep one accumulator per (job, block row, block column) of C. An
+ * ACCUMULATE request adds a * b to it, FETCH returns it and forgets it, and RELEASE
+ * drops everything a job left behind after a failure.
+ */
+public record BlockRequest(Kind kind, long job, int blockRow, int blockCol, DenseMatrix a, DenseMatrix b) {
+
+    public enum Kind {
+        ACCUMULATE, FETCH, RELEASE
+    }
+
+    /**
+     * C(blockRow, blockCol) += a * b
+     */
+    public static BlockRequest accumulate(long job, int blockRow, int blockCol, DenseMatrix a, DenseMatrix b) {
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Invalid blocks for multiplication: " + a + " * " + b);
+        }
+        return new BlockRequest(Kind.ACCUMULATE, job, blockRow, blockCol, a, b);
+    }
+
+    /**
+     * Return C(blockRow, blockCol) and free it on the worker
+     */
+    public static BlockRequest fetch(long job, int blockRow, int blockCol) {
+        return new BlockRequest(Kind.FETCH, job, blockRow, blockCol, null, null);
+    }
+
+    /**
+     * Free every block of a job
+     */
+    public static BlockRequest release(long job) {
+        return new BlockRequest(Kind.RELEASE, job, 0, 0, null, null);
+    }
+}
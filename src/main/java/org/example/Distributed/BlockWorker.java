@@ -0,0 +1,75 @@
+package org.example.Distributed;
+
+import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Algorithms.ParallelPackedMicroKernelMultiplication;
+import org.example.Matrices.DenseMatrix;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Worker side of the block protocol: owns the C accumulators assigned to it and
+ * multiplies incoming block pairs into them with an ordinary in-process algorithm
+ *
+ * Requests are handled one at a time in arrival order; the parallelism inside one
+ * block product comes from the algorithm, by default the packed micro-kernel.
+ */
+public class BlockWorker {
+
+    private record Key(long job, int blockRow, int blockCol) {
+    }
+
+    private final AbstractMatrixMultiplicationAlgorithm algorithm;
+    private final Map<Key, DenseMatrix> accumulators = new HashMap<>();
+
+    public BlockWorker() {
+        this(new ParallelPackedMicroKernelMultiplication());
+    }
+
+    public BlockWorker(AbstractMatrixMultiplicationAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Handle one request, returning the block for FETCH and null otherwise
+     */
+    public synchronized DenseMatrix handle(BlockRequest request) {
+        Key key = new Key(request.job(), request.blockRow(), request.blockCol());
+
+        switch (request.kind()) {
+            case ACCUMULATE -> {
+                DenseMatrix c = accumulators.get(key);
+                if (c == null) {
+                    accumulators.put(key, algorithm.multiply(request.a(), request.b()));
+                } else {
+                    algorithm.multiplyInto(request.a(), request.b(), c, 1.0, 1.0);
+                }
+                return null;
+            }
+            case FETCH -> {
+                DenseMatrix c = accumulators.remove(key);
+                if (c == null) {
+                    throw new IllegalStateException("No block (" + key.blockRow() + ", " + key.blockCol()
+                            + ") for job " + key.job());
+                }
+                return c;
+            }
+            case RELEASE -> {
+                accumulators.keySet().removeIf(k -> k.job() == request.job());
+                return null;
+            }
+        }
+        throw new IllegalArgumentException("Unknown request " + request.kind());
+    }
+
+    /**
+     * Number of accumulators currently held
+     */
+    public synchronized int blocks() {
+        return accumulators.size();
+    }
+
+    public String getName() {
+        return "Block Worker (" + algorithm.getName() + ")";
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.Distributed;
+
+import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Matrices.DenseMatrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Process hosting one {@link BlockWorker} behind a TCP socket
+ *
+ * Usage: BlockWorkerServer [--port=N] [--algorithm=fully.qualified.ClassName] [--once]
+ *
+ * Prints "PORT n" on the first line of standard output once it is listening, so a
+ * parent process that asked for port 0 can learn the chosen port. Coordinators are
+ * served one connection at a time; with --once the process exits when the first
+ * connection closes, which is how {@link SocketTransport#forkLocal} workers end.
+ */
+public class BlockWorkerServer {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static void main(String[] args) throws Exception {
+        int port = 0;
+        boolean once = false;
+        AbstractMatrixMultiplicationAlgorithm algorithm = null;
+
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--algorithm=")) {
+                algorithm = (AbstractMatrixMultiplicationAlgorithm) Class.forName(arg.substring("--algorithm=".length()))
+                        .getDeclaredConstructor().newInstance();
+            } else if (arg.equals("--once")) {
+                once = true;
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+
+        BlockWorker worker = algorithm == null ? new BlockWorker() : new BlockWorker(algorithm);
+        try (ServerSocket server = new ServerSocket(port)) {
+            System.out.println("PORT " + server.getLocalPort());
+            System.out.flush();
+
+            do {
+                try (Socket socket = server.accept()) {
+                    serve(socket, worker);
+                }
+            } while (!once);
+        }
+    }
+
+    /**
+     * Answer requests on one connection until the coordinator closes it
+     */
+    static void serve(Socket socket, BlockWorker worker) throws IOException {
+        socket.setTcpNoDelay(true);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+
+        while (true) {
+            BlockRequest request;
+            try {
+                request = BlockProtocol.readRequest(in);
+            } catch (EOFException e) {
+                return;
+            }
+
+            DenseMatrix result;
+            try {
+                result = worker.handle(request);
+            } catch (RuntimeException e) {
+                BlockProtocol.writeError(out, e);
+                continue;
+            }
+            BlockProtocol.writeResponse(out, result);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.Distributed;
+
+import org.example.Matrices.DenseMatrix;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loopback transport: every worker is a {@link BlockWorker} in this JVM behind its
+ * own single-threaded queue, so requests to one worker stay ordered while different
+ * workers run concurrently. Blocks are handed over by reference, nothing is serialized.
+ */
+public class LocalTransport implements Transport {
+
+    private final BlockWorker[] workers;
+    private final ExecutorService[] queues;
+
+    public LocalTransport(int workers) {
+        this(createWorkers(workers));
+    }
+
+    public LocalTransport(BlockWorker... workers) {
+        if (workers.length == 0) {
+            throw new IllegalArgumentException("A transport needs at least one worker");
+        }
+        this.workers = workers.clone();
+        this.queues = new ExecutorService[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            int index = i;
+            queues[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "block-worker-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static BlockWorker[] createWorkers(int count) {
+        BlockWorker[] workers = new BlockWorker[count];
+        for (int i = 0; i < count; i++) {
+            workers[i] = new BlockWorker();
+        }
+        return workers;
+    }
+
+    @Override
+    public int workers() {
+        return workers.length;
+    }
+
+    @Override
+    public CompletableFuture<DenseMatrix> send(int worker, BlockRequest request) {
+        return CompletableFuture.supplyAsync(() -> workers[worker].handle(request), queues[worker]);
+    }
+
+    @Override
+    public String getName() {
+        return "local x" + workers.length;
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService queue : queues) {
+            queue.shutdown();
+        }
+    }
+}
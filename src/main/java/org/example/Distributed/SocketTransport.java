@@ -0,0 +1,242 @@
+package org.example.Distributed;
+
+import org.example.Matrices.DenseMatrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport to {@link BlockWorkerServer} processes over TCP
+ *
+ * Each worker gets one connection with a writer thread and a reader thread:
+ * requests are queued and written in order, responses are matched to requests in
+ * the same order, so the coordinator can keep many blocks in flight to every worker
+ * without waiting for replies. {@link #forkLocal} starts the workers as child JVMs
+ * on this machine, which is the stand-in for a cluster during development.
+ */
+public class SocketTransport implements Transport {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final List<Connection> connections = new ArrayList<>();
+    private final List<Process> processes = new ArrayList<>();
+
+    private SocketTransport() {
+    }
+
+    /**
+     * Connect to already running workers
+     */
+    public static SocketTransport connect(List<InetSocketAddress> addresses) throws IOException {
+        SocketTransport transport = new SocketTransport();
+        try {
+            for (int i = 0; i < addresses.size(); i++) {
+                transport.connections.add(new Connection(i, addresses.get(i)));
+            }
+        } catch (IOException e) {
+            transport.close();
+            throw e;
+        }
+        return transport;
+    }
+
+    /**
+     * Start the given number of worker JVMs on this machine, with this JVM's class path, and connect to them
+     */
+    public static SocketTransport forkLocal(int workers) throws IOException {
+        return forkLocal(workers, List.of());
+    }
+
+    /**
+     * Start worker JVMs with extra options (heap size and the like) and connect to them
+     */
+    public static SocketTransport forkLocal(int workers, List<String> jvmOptions) throws IOException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("A transport needs at least one worker");
+        }
+
+        String java = ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("--add-modules");
+        command.add("jdk.incubator.vector");
+        command.add("--enable-preview");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BlockWorkerServer.class.getName());
+        command.add("--once");
+
+        SocketTransport transport = new SocketTransport();
+        try {
+            for (int i = 0; i < workers; i++) {
+                Process process = new ProcessBuilder(command)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                transport.processes.add(process);
+
+                BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                String line = reader.readLine();
+                if (line == null || !line.startsWith("PORT ")) {
+                    throw new IOException("Worker " + i + " did not start: " + line);
+                }
+                int port = Integer.parseInt(line.substring("PORT ".length()).trim());
+                transport.connections.add(new Connection(i, new InetSocketAddress(InetAddress.getLoopbackAddress(), port)));
+            }
+        } catch (IOException | RuntimeException e) {
+            transport.close();
+            throw e;
+        }
+        return transport;
+    }
+
+    @Override
+    public int workers() {
+        return connections.size();
+    }
+
+    @Override
+    public CompletableFuture<DenseMatrix> send(int worker, BlockRequest request) {
+        return connections.get(worker).send(request);
+    }
+
+    @Override
+    public String getName() {
+        return "socket x" + connections.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * One worker's socket with its ordered queue of outstanding requests
+     */
+    private static final class Connection {
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private final ExecutorService writer;
+        private final ConcurrentLinkedQueue<CompletableFuture<DenseMatrix>> pending = new ConcurrentLinkedQueue<>();
+        private volatile IOException failure;
+
+        Connection(int index, InetSocketAddress address) throws IOException {
+            socket = new Socket(address.getAddress(), address.getPort());
+            socket.setTcpNoDelay(true);
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "block-writer-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            Thread reader = new Thread(this::readResponses, "block-reader-" + index);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        CompletableFuture<DenseMatrix> send(BlockRequest request) {
+            CompletableFuture<DenseMatrix> future = new CompletableFuture<>();
+            writer.execute(() -> {
+                if (failure != null) {
+                    future.completeExceptionally(failure);
+                    return;
+                }
+                pending.add(future);
+                // The reader may have failed and drained pending between the check above and the add
+                IOException failed = failure;
+                if (failed != null) {
+                    if (pending.remove(future)) {
+                        future.completeExceptionally(failed);
+                    }
+                    return;
+                }
+                try {
+                    BlockProtocol.writeRequest(out, request);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            });
+            return future;
+        }
+
+        private void readResponses() {
+            try {
+                while (true) {
+                    DenseMatrix block = null;
+                    Exception error = null;
+                    try {
+                        block = BlockProtocol.readResponse(in);
+                    } catch (BlockProtocol.WorkerException e) {
+                        error = e;
+                    }
+
+                    CompletableFuture<DenseMatrix> future = pending.poll();
+                    if (future == null) {
+                        throw new IOException("Response without a request");
+                    }
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        future.complete(block);
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Fail every pending request; the failure is published before draining, so a request
+         * added afterwards sees it when send re-checks
+         */
+        private void fail(IOException e) {
+            failure = e;
+            CompletableFuture<DenseMatrix> future;
+            while ((future = pending.poll()) != null) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        void close() throws IOException {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            socket.close();
+        }
+    }
+}
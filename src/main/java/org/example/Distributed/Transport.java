@@ -0,0 +1,32 @@
+package org.example.Distributed;
+
+import org.example.Matrices.DenseMatrix;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Channel from the coordinator to a fixed set of block workers
+ *
+ * Requests to the same worker are delivered and handled in the order they were sent,
+ * so an ACCUMULATE followed by a FETCH of the same block sees the accumulated value.
+ * Sending never blocks on the worker; the returned future completes with the
+ * worker's answer (the block for FETCH, null otherwise) or with its failure.
+ */
+public interface Transport extends AutoCloseable {
+
+    /**
+     * Number of workers, addressed as 0 .. workers() - 1
+     */
+    int workers();
+
+    CompletableFuture<DenseMatrix> send(int worker, BlockRequest request);
+
+    /**
+     * Short name used in reports
+     */
+    String getName();
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,45 @@
+package org.example.Execution;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Runs every task in order on the calling thread
+ */
+public class CallerRunsExecutionContext implements ExecutionContext {
+
+    static final CallerRunsExecutionContext INSTANCE = new CallerRunsExecutionContext(null);
+
+    private final ExecutionContext outer;
+
+    /**
+     * @param outer context whose checkpoint this one forwards to, or null for none
+     */
+    CallerRunsExecutionContext(ExecutionContext outer) {
+        this.outer = outer;
+    }
+
+    @Override
+    public void parallelFor(int taskCount, IntConsumer body) {
+        for (int i = 0; i < taskCount; i++) {
+            checkpoint();
+            body.accept(i);
+        }
+    }
+
+    @Override
+    public void checkpoint() {
+        if (outer != null) {
+            outer.checkpoint();
+        }
+    }
+
+    @Override
+    public int parallelism() {
+        return 1;
+    }
+
+    @Override
+    public String getName() {
+        return "caller runs";
+    }
+}
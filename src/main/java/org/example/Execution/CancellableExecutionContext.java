@@ -0,0 +1,157 @@
+package org.example.Execution;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Wraps another context so that the work running through it can be stopped part way
+ *
+ * The work stops once cancel() is called, the deadline passes or the thread that
+ * started it is interrupted. Every task of a parallelFor checks this before it runs,
+ * and so does {@link #checkpoint()}, which algorithms call between blocks inside a
+ * task. A task that finds the work stopped throws CancellationException; the wrapped
+ * context then skips the remaining tasks and rethrows it from the outermost parallelFor.
+ *
+ * Tasks of the outermost parallelFor calls are counted, and after each one the
+ * progress listener receives the fraction of tasks finished out of those scheduled
+ * so far. Algorithms that issue their tiles in several rounds, one per panel of B
+ * say, make the fraction drop back whenever a new round starts.
+ *
+ * The deadline is measured from construction, so create one context (and one
+ * algorithm on top of it) per request.
+ */
+public class CancellableExecutionContext implements ExecutionContext {
+
+    private final ExecutionContext delegate;
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final DoubleConsumer progress;
+    private final ThreadLocal<Boolean> insideTask = new ThreadLocal<>();
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private volatile String stopReason;
+    private volatile Thread caller;
+
+    public CancellableExecutionContext(ExecutionContext delegate) {
+        this(delegate, null, null);
+    }
+
+    public CancellableExecutionContext(ExecutionContext delegate, Duration timeout) {
+        this(delegate, timeout, null);
+    }
+
+    /**
+     * @param timeout  time from now after which the work is abandoned, or null for none
+     * @param progress receives the fraction of tasks done, from the thread that finished
+     *                 the task; null for none
+     */
+    public CancellableExecutionContext(ExecutionContext delegate, Duration timeout, DoubleConsumer progress) {
+        this.delegate = delegate;
+        this.hasDeadline = timeout != null;
+        this.deadline = hasDeadline ? System.nanoTime() + saturatedNanos(timeout) : 0L;
+        this.progress = progress;
+    }
+
+    private static long saturatedNanos(Duration timeout) {
+        try {
+            return Math.min(timeout.toNanos(), Long.MAX_VALUE / 2);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    /**
+     * Stop the work at the next task boundary or checkpoint
+     */
+    public void cancel() {
+        stop("Cancelled");
+    }
+
+    public boolean isCancelled() {
+        return stopReason != null;
+    }
+
+    /**
+     * Fraction of the tasks scheduled so far that have finished
+     */
+    public double progress() {
+        long total = scheduled.get();
+        return total == 0 ? 0.0 : (double) completed.get() / total;
+    }
+
+    @Override
+    public void checkpoint() {
+        if (stopReason == null) {
+            if (hasDeadline && System.nanoTime() - deadline > 0) {
+                stop("Deadline exceeded");
+            } else {
+                // Algorithms that run small products inline never reach parallelFor to record the caller
+                Thread thread = caller;
+                if (Thread.currentThread().isInterrupted() || (thread != null && thread.isInterrupted())) {
+                    stop("Interrupted");
+                }
+            }
+        }
+
+        String reason = stopReason;
+        if (reason != null) {
+            throw new CancellationException(reason);
+        }
+    }
+
+    private void stop(String reason) {
+        if (stopReason == null) {
+            stopReason = reason;
+        }
+    }
+
+    @Override
+    public void parallelFor(int taskCount, IntConsumer body) {
+        checkpoint();
+        if (insideTask.get() != null) {
+            delegate.parallelFor(taskCount, i -> runTask(body, i));
+            return;
+        }
+
+        caller = Thread.currentThread();
+        scheduled.addAndGet(taskCount);
+        delegate.parallelFor(taskCount, i -> {
+            runTask(body, i);
+            long done = completed.incrementAndGet();
+            if (progress != null) {
+                progress.accept((double) done / scheduled.get());
+            }
+        });
+    }
+
+    /**
+     * Run one task, marking its thread so that parallelFor calls it makes are known to be nested
+     */
+    private void runTask(IntConsumer body, int index) {
+        checkpoint();
+        boolean outermost = insideTask.get() == null;
+        if (outermost) {
+            insideTask.set(Boolean.TRUE);
+        }
+        try {
+            body.accept(index);
+        } finally {
+            if (outermost) {
+                insideTask.remove();
+            }
+        }
+    }
+
+    @Override
+    public int parallelism() {
+        return delegate.parallelism();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName() + ", cancellable";
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.Execution;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Where the parallel algorithms run their tasks
+ *
+ * An algorithm describes its parallel work as taskCount independent tasks and the
+ * context decides which threads execute them. The shared instances returned by the
+ * static factories live for the whole JVM, so no multiplication pays for thread
+ * creation or pool start-up.
+ */
+public interface ExecutionContext {
+
+    /**
+     * Run body for every index in [0, taskCount) and return once all of them have finished.
+     * The first exception thrown by a task is rethrown to the caller after the
+     * remaining tasks have been skipped or completed.
+     */
+    void parallelFor(int taskCount, IntConsumer body);
+
+    /**
+     * Called by algorithms between blocks of work inside one task. A context that
+     * supports cancellation throws CancellationException here once the work should
+     * stop; the others do nothing.
+     */
+    default void checkpoint() {
+    }
+
+    /**
+     * Number of tasks this context can run at the same time
+     */
+    int parallelism();
+
+    /**
+     * Short name used in algorithm names and reports
+     */
+    String getName();
+
+    /**
+     * One fixed pool of daemon threads, one per core, shared by every caller.
+     * This is the default for the thread-pool and thread-per-task algorithms.
+     */
+    static SharedPoolExecutionContext sharedPool() {
+        return SharedPoolExecutionContext.SHARED;
+    }
+
+    /**
+     * One work-stealing pool, one worker per core, shared by every caller.
+     * This is the default for the recursive fork-join algorithms.
+     */
+    static ForkJoinExecutionContext forkJoin() {
+        return ForkJoinExecutionContext.SHARED;
+    }
+
+    /**
+     * A fresh virtual thread for every task
+     */
+    static ExecutionContext virtualThreads() {
+        return VirtualThreadExecutionContext.INSTANCE;
+    }
+
+    /**
+     * Every task runs sequentially on the calling thread
+     */
+    static ExecutionContext callerRuns() {
+        return CallerRunsExecutionContext.INSTANCE;
+    }
+
+    /**
+     * Every task runs sequentially on the calling thread, and checkpoints go to outer.
+     * For algorithms that run an inner kernel on the caller inside a task of outer,
+     * so the kernel still stops when outer is cancelled.
+     */
+    static ExecutionContext callerRuns(ExecutionContext outer) {
+        return new CallerRunsExecutionContext(outer);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.Execution;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs tasks on a work-stealing ForkJoinPool
+ *
+ * parallelFor splits the index range recursively, so a call made from inside one
+ * of this pool's workers (a recursive algorithm forking its sub-problems) forks
+ * into the same pool instead of blocking a worker.
+ */
+public class ForkJoinExecutionContext implements ExecutionContext {
+
+    static final ForkJoinExecutionContext SHARED =
+            new ForkJoinExecutionContext(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+
+    private final ForkJoinPool pool;
+
+    public ForkJoinExecutionContext(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void parallelFor(int taskCount, IntConsumer body) {
+        if (taskCount <= 0) {
+            return;
+        }
+        if (taskCount == 1 || pool.getParallelism() == 1) {
+            for (int i = 0; i < taskCount; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+        RangeAction action = new RangeAction(body, 0, taskCount);
+        if (ForkJoinTask.getPool() == pool) {
+            action.invoke();
+        } else {
+            pool.invoke(action);
+        }
+    }
+
+    @Override
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    @Override
+    public String getName() {
+        return "fork join";
+    }
+
+    private static class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntConsumer body;
+        private final int start;
+        private final int end;
+
+        RangeAction(IntConsumer body, int start, int end) {
+            this.body = body;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                body.accept(start);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new RangeAction(body, start, mid), new RangeAction(body, mid, end));
+        }
+    }
+}
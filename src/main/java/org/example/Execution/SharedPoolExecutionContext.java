@@ -0,0 +1,156 @@
+package org.example.Execution;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Long-lived fixed thread pool with caller-participating work sharing
+ *
+ * parallelFor does not queue one runnable per task. It queues at most
+ * parallelism - 1 helpers, and the helpers and the calling thread all pull task
+ * indices from a shared counter until none are left. The caller only blocks once
+ * every index has been claimed, so nested parallelFor calls from inside the pool
+ * cannot deadlock, and helpers that start late simply find no work.
+ */
+public class SharedPoolExecutionContext implements ExecutionContext {
+
+    static final SharedPoolExecutionContext SHARED =
+            new SharedPoolExecutionContext(Runtime.getRuntime().availableProcessors());
+
+    private final ThreadPoolExecutor executor;
+    private final int parallelism;
+
+    public SharedPoolExecutionContext(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "matrix-pool-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private SharedPoolExecutionContext(ThreadPoolExecutor executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * A view on the same threads that lets each parallelFor use at most the given number of them
+     *
+     * Several views can split one pool between concurrent callers: as long as their
+     * parallelism adds up to no more than the pool size, none of them waits for the others.
+     */
+    public SharedPoolExecutionContext limitedTo(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        return new SharedPoolExecutionContext(executor, parallelism);
+    }
+
+    @Override
+    public void parallelFor(int taskCount, IntConsumer body) {
+        if (taskCount <= 1 || parallelism == 1) {
+            for (int i = 0; i < taskCount; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+
+        WorkSharingLoop loop = new WorkSharingLoop(taskCount, body);
+        int helpers = Math.min(parallelism, taskCount) - 1;
+        for (int i = 0; i < helpers; i++) {
+            executor.execute(loop::drain);
+        }
+        loop.drain();
+        loop.await();
+    }
+
+    @Override
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Helpers queued but not yet started
+     */
+    public int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * The underlying pool, for callers that want to submit their own work
+     */
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    @Override
+    public String getName() {
+        return parallelism == executor.getCorePoolSize() ? "shared pool" : "shared pool, " + parallelism + " threads";
+    }
+
+    /**
+     * One parallelFor call: an index counter shared by every participating thread
+     */
+    private static class WorkSharingLoop {
+        private final int taskCount;
+        private final IntConsumer body;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final CountDownLatch remaining;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        WorkSharingLoop(int taskCount, IntConsumer body) {
+            this.taskCount = taskCount;
+            this.body = body;
+            this.remaining = new CountDownLatch(taskCount);
+        }
+
+        void drain() {
+            int index;
+            while ((index = nextIndex.getAndIncrement()) < taskCount) {
+                try {
+                    // After a failure the remaining tasks are only counted down
+                    if (failure.get() == null) {
+                        body.accept(index);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    remaining.countDown();
+                }
+            }
+        }
+
+        void await() {
+            try {
+                remaining.await();
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, e);
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for parallel tasks");
+            }
+
+            Throwable t = failure.get();
+            if (t instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (t instanceof Error error) {
+                throw error;
+            }
+            if (t != null) {
+                throw new CompletionException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.Execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Starts one virtual thread per task
+ *
+ * Virtual threads are cheap enough to create per call, so each parallelFor gets its
+ * own newVirtualThreadPerTaskExecutor and closes it when every task has finished.
+ * Parallelism is bounded by the carrier pool, not by this context.
+ */
+public class VirtualThreadExecutionContext implements ExecutionContext {
+
+    static final VirtualThreadExecutionContext INSTANCE = new VirtualThreadExecutionContext();
+
+    @Override
+    public void parallelFor(int taskCount, IntConsumer body) {
+        if (taskCount <= 1) {
+            for (int i = 0; i < taskCount; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(taskCount);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> body.accept(index)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for parallel tasks");
+        } catch (ExecutionException e) {
+            // Interrupt the siblings of a failed task rather than waiting for them
+            executor.shutdownNow();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Override
+    public int parallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public String getName() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.Expressions;
+
+import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Algorithms.ParallelPackedMicroKernelMultiplication;
+import org.example.Algorithms.ParallelThreadPoolSIMDMultiplication;
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.PreparedOperand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates a {@link MatrixExpression} with as few passes over memory as possible
+ *
+ * The expression is first flattened into a sum of scaled matrix terms and scaled
+ * product terms: scale factors are multiplied together, transposes are pushed down
+ * to the leaves ((X Y)^T = Y^T X^T, (X + Y)^T = X^T + Y^T) and sums are distributed.
+ * The result is then written in one pass for all matrix terms, after which every
+ * product accumulates into it as a single GEMM C = alpha * A * B + beta * C, so
+ * alpha * A * B + beta * C never materializes A * B.
+ *
+ * A product whose right operand is a transposed matrix goes to the transposed-layout
+ * kernel, which reads that matrix as the transpose it wants without copying it; any
+ * other product goes to the row-major kernel, which packs B as stored. Only a
+ * transposed left operand, and operands that are themselves sums or products, are
+ * materialized into temporaries.
+ *
+ * The target of {@link #evaluateInto} must not be one of the expression's matrices.
+ */
+public class ExpressionEvaluator {
+
+    private static final int TRANSPOSE_BLOCK = 64;
+
+    private record MatrixTerm(double factor, DenseMatrix matrix, boolean transposed) {
+    }
+
+    private record ProductTerm(double factor, MatrixExpression left, MatrixExpression right) {
+    }
+
+    private record Operand(double factor, DenseMatrix matrix, boolean transposed) {
+    }
+
+    private final AbstractMatrixMultiplicationAlgorithm rowMajor;
+    private final AbstractMatrixMultiplicationAlgorithm transposedLayout;
+
+    /**
+     * Packed micro-kernel for row-major operands, SIMD dot products over the transpose otherwise
+     */
+    public ExpressionEvaluator() {
+        this(new ParallelPackedMicroKernelMultiplication(), new ParallelThreadPoolSIMDMultiplication());
+    }
+
+    /**
+     * Run every product through one algorithm
+     */
+    public ExpressionEvaluator(AbstractMatrixMultiplicationAlgorithm algorithm) {
+        this(algorithm, algorithm);
+    }
+
+    /**
+     * @param rowMajor         algorithm for products whose right operand is stored row-major
+     * @param transposedLayout algorithm for products whose right operand is available as its
+     *                         transpose; it should read the transpose of a {@link PreparedOperand}
+     */
+    public ExpressionEvaluator(AbstractMatrixMultiplicationAlgorithm rowMajor,
+                               AbstractMatrixMultiplicationAlgorithm transposedLayout) {
+        this.rowMajor = rowMajor;
+        this.transposedLayout = transposedLayout;
+    }
+
+    /**
+     * Evaluate into a new matrix
+     */
+    public DenseMatrix evaluate(MatrixExpression expression) {
+        DenseMatrix result = new DenseMatrix(expression.rows(), expression.cols());
+        evaluateInto(expression, result);
+        return result;
+    }
+
+    /**
+     * Evaluate into an existing matrix, overwriting it
+     */
+    public void evaluateInto(MatrixExpression expression, DenseMatrix out) {
+        if (out.rows() != expression.rows() || out.cols() != expression.cols()) {
+            throw new IllegalArgumentException("Invalid target " + out + " for a "
+                    + expression.rows() + "x" + expression.cols() + " expression");
+        }
+
+        List<MatrixTerm> matrices = new ArrayList<>();
+        List<ProductTerm> products = new ArrayList<>();
+        collect(expression, 1.0, false, matrices, products);
+
+        double beta = 0.0;
+        if (!matrices.isEmpty()) {
+            writeMatrices(matrices, out);
+            beta = 1.0;
+        }
+        for (ProductTerm product : products) {
+            multiplyInto(product, out, beta);
+            beta = 1.0;
+        }
+    }
+
+    /**
+     * Flatten factor * expression (transposed if asked) into matrix and product terms
+     */
+    private static void collect(MatrixExpression expression, double factor, boolean transposed,
+                                List<MatrixTerm> matrices, List<ProductTerm> products) {
+        switch (expression) {
+            case MatrixExpression.Leaf leaf -> matrices.add(new MatrixTerm(factor, leaf.matrix(), transposed));
+            case MatrixExpression.Transpose t -> collect(t.operand(), factor, !transposed, matrices, products);
+            case MatrixExpression.Scale s -> collect(s.operand(), factor * s.factor(), transposed, matrices, products);
+            case MatrixExpression.Sum sum -> {
+                collect(sum.left(), factor, transposed, matrices, products);
+                collect(sum.right(), factor, transposed, matrices, products);
+            }
+            case MatrixExpression.Product p -> products.add(transposed
+                    ? new ProductTerm(factor, p.right().transpose(), p.left().transpose())
+                    : new ProductTerm(factor, p.left(), p.right()));
+        }
+    }
+
+    /**
+     * out = sum of the matrix terms; all untransposed terms in a single pass over the rows
+     */
+    private static void writeMatrices(List<MatrixTerm> matrices, DenseMatrix out) {
+        double[] outData = out.data();
+        int rows = out.rows();
+        int cols = out.cols();
+
+        List<MatrixTerm> direct = matrices.stream().filter(term -> !term.transposed()).toList();
+        if (direct.isEmpty()) {
+            out.fill(0.0);
+        }
+
+        for (int i = 0; i < rows && !direct.isEmpty(); i++) {
+            int outRow = out.index(i, 0);
+            for (int t = 0; t < direct.size(); t++) {
+                MatrixTerm term = direct.get(t);
+                double[] data = term.matrix().data();
+                double factor = term.factor();
+                int row = term.matrix().index(i, 0);
+                if (t == 0) {
+                    for (int j = 0; j < cols; j++) {
+                        outData[outRow + j] = factor * data[row + j];
+                    }
+                } else {
+                    for (int j = 0; j < cols; j++) {
+                        outData[outRow + j] += factor * data[row + j];
+                    }
+                }
+            }
+        }
+
+        // Transposed terms are added block by block so both sides stay in cache
+        for (MatrixTerm term : matrices) {
+            if (!term.transposed()) {
+                continue;
+            }
+            DenseMatrix matrix = term.matrix();
+            double[] data = matrix.data();
+            double factor = term.factor();
+            for (int i = 0; i < rows; i += TRANSPOSE_BLOCK) {
+                int iLimit = Math.min(i + TRANSPOSE_BLOCK, rows);
+                for (int j = 0; j < cols; j += TRANSPOSE_BLOCK) {
+                    int jLimit = Math.min(j + TRANSPOSE_BLOCK, cols);
+                    for (int jj = j; jj < jLimit; jj++) {
+                        int row = matrix.index(jj, 0);
+                        for (int ii = i; ii < iLimit; ii++) {
+                            outData[out.index(ii, jj)] += factor * data[row + ii];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * out = alpha * left * right + beta * out for one product term
+     */
+    private void multiplyInto(ProductTerm product, DenseMatrix out, double beta) {
+        Operand left = resolve(product.left());
+        Operand right = resolve(product.right());
+        double alpha = product.factor() * left.factor() * right.factor();
+        DenseMatrix a = left.transposed() ? left.matrix().transpose() : left.matrix();
+
+        if (right.transposed()) {
+            transposedLayout.multiplyInto(a, PreparedOperand.ofTransposed(right.matrix()), out, alpha, beta);
+        } else {
+            rowMajor.multiplyInto(a, right.matrix(), out, alpha, beta);
+        }
+    }
+
+    /**
+     * Peel scale factors and transposes off an operand down to a matrix, evaluating
+     * sums and products underneath into a temporary
+     */
+    private Operand resolve(MatrixExpression expression) {
+        double factor = 1.0;
+        boolean transposed = false;
+        while (true) {
+            switch (expression) {
+                case MatrixExpression.Leaf leaf -> {
+                    return new Operand(factor, leaf.matrix(), transposed);
+                }
+                case MatrixExpression.Transpose t -> {
+                    transposed = !transposed;
+                    expression = t.operand();
+                }
+                case MatrixExpression.Scale s -> {
+                    factor *= s.factor();
+                    expression = s.operand();
+                }
+                case MatrixExpression.Sum sum -> {
+                    return new Operand(factor, evaluate(transposed ? sum.transpose() : sum), false);
+                }
+                case MatrixExpression.Product p -> {
+                    return new Operand(factor, evaluate(transposed ? p.transpose() : p), false);
+                }
+            }
+        }
+    }
+}
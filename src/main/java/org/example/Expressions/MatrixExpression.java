@@ -0,0 +1,141 @@
+package org.example.Expressions;
+
+import org.example.Matrices.DenseMatrix;
+
+/**
+ * Lazy matrix expression built from transpose, scale, add and multiply
+ *
+ * Building an expression does no arithmetic and allocates no matrices; shapes are
+ * checked as the graph is built. {@link ExpressionEvaluator} later rewrites the
+ * graph into a sum of scaled products and matrices, so scaling and additions become
+ * the alpha and beta of GEMM calls and transposes are absorbed into operand layouts.
+ */
+public sealed interface MatrixExpression {
+
+    int rows();
+
+    int cols();
+
+    /**
+     * A matrix the expression reads; never modified by evaluation
+     */
+    record Leaf(DenseMatrix matrix) implements MatrixExpression {
+        @Override
+        public int rows() {
+            return matrix.rows();
+        }
+
+        @Override
+        public int cols() {
+            return matrix.cols();
+        }
+    }
+
+    record Transpose(MatrixExpression operand) implements MatrixExpression {
+        @Override
+        public int rows() {
+            return operand.cols();
+        }
+
+        @Override
+        public int cols() {
+            return operand.rows();
+        }
+    }
+
+    record Scale(double factor, MatrixExpression operand) implements MatrixExpression {
+        @Override
+        public int rows() {
+            return operand.rows();
+        }
+
+        @Override
+        public int cols() {
+            return operand.cols();
+        }
+    }
+
+    record Sum(MatrixExpression left, MatrixExpression right) implements MatrixExpression {
+        public Sum {
+            if (left.rows() != right.rows() || left.cols() != right.cols()) {
+                throw new IllegalArgumentException("Invalid matrices for addition: "
+                        + left.rows() + "x" + left.cols() + " + " + right.rows() + "x" + right.cols());
+            }
+        }
+
+        @Override
+        public int rows() {
+            return left.rows();
+        }
+
+        @Override
+        public int cols() {
+            return left.cols();
+        }
+    }
+
+    record Product(MatrixExpression left, MatrixExpression right) implements MatrixExpression {
+        public Product {
+            if (left.cols() != right.rows()) {
+                throw new IllegalArgumentException("Invalid matrices for multiplication: "
+                        + left.rows() + "x" + left.cols() + " * " + right.rows() + "x" + right.cols());
+            }
+        }
+
+        @Override
+        public int rows() {
+            return left.rows();
+        }
+
+        @Override
+        public int cols() {
+            return right.cols();
+        }
+    }
+
+    /**
+     * Start an expression from a matrix
+     */
+    static MatrixExpression of(DenseMatrix matrix) {
+        return new Leaf(matrix);
+    }
+
+    default MatrixExpression transpose() {
+        return new Transpose(this);
+    }
+
+    default MatrixExpression scale(double factor) {
+        return new Scale(factor, this);
+    }
+
+    default MatrixExpression plus(MatrixExpression other) {
+        return new Sum(this, other);
+    }
+
+    default MatrixExpression plus(DenseMatrix other) {
+        return plus(of(other));
+    }
+
+    default MatrixExpression minus(MatrixExpression other) {
+        return new Sum(this, other.scale(-1.0));
+    }
+
+    default MatrixExpression minus(DenseMatrix other) {
+        return minus(of(other));
+    }
+
+    default MatrixExpression times(MatrixExpression other) {
+        return new Product(this, other);
+    }
+
+    default MatrixExpression times(DenseMatrix other) {
+        return times(of(other));
+    }
+
+    /**
+     * Evaluate with the default evaluator
+     */
+    default DenseMatrix evaluate() {
+        return new ExpressionEvaluator().evaluate(this);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.Matrices;
+
+import java.util.Arrays;
+
+/**
+ * Sparse matrix in compressed sparse column form
+ *
+ * The nonzeros of column j are values[colPtr[j] .. colPtr[j + 1]) and sit in the rows
+ * rowIdx[colPtr[j] .. colPtr[j + 1]), in increasing row order. This is the natural
+ * layout for a sparse right-hand operand, whose columns are walked one at a time.
+ */
+public class CscMatrix {
+    private final int rows;
+    private final int cols;
+    private final int[] colPtr;
+    private final int[] rowIdx;
+    private final double[] values;
+
+    /**
+     * Wrap existing CSC arrays without copying
+     */
+    public CscMatrix(int rows, int cols, int[] colPtr, int[] rowIdx, double[] values) {
+        if (rows < 0 || cols < 0 || colPtr.length != cols + 1 || colPtr[0] != 0
+                || rowIdx.length < colPtr[cols] || values.length < colPtr[cols]) {
+            throw new IllegalArgumentException("Invalid CSC layout for " + rows + "x" + cols
+                    + " with " + (colPtr.length > cols ? colPtr[colPtr.length - 1] : -1) + " nonzeros");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.colPtr = colPtr;
+        this.rowIdx = rowIdx;
+        this.values = values;
+    }
+
+    /**
+     * Copy the nonzero elements of a dense matrix
+     */
+    public static CscMatrix fromDense(DenseMatrix matrix) {
+        return CsrMatrix.fromDense(matrix).toCsc();
+    }
+
+    /**
+     * Expand into a new dense matrix
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        double[] data = result.data();
+        for (int j = 0; j < cols; j++) {
+            for (int k = colPtr[j]; k < colPtr[j + 1]; k++) {
+                data[rowIdx[k] * cols + j] = values[k];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The same matrix in compressed sparse row form
+     */
+    public CsrMatrix toCsr() {
+        int nnz = nonZeros();
+        int[] rowPtr = new int[rows + 1];
+        for (int k = 0; k < nnz; k++) {
+            rowPtr[rowIdx[k] + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowPtr[i + 1] += rowPtr[i];
+        }
+
+        int[] next = Arrays.copyOf(rowPtr, rows);
+        int[] colIdx = new int[nnz];
+        double[] csrValues = new double[nnz];
+        // Walking columns in order leaves every row's column indices sorted
+        for (int j = 0; j < cols; j++) {
+            for (int k = colPtr[j]; k < colPtr[j + 1]; k++) {
+                int slot = next[rowIdx[k]]++;
+                colIdx[slot] = j;
+                csrValues[slot] = values[k];
+            }
+        }
+        return new CsrMatrix(rows, cols, rowPtr, colIdx, csrValues);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Start of each column in rowIdx and values, plus the total count at index cols
+     */
+    public int[] colPtr() {
+        return colPtr;
+    }
+
+    public int[] rowIdx() {
+        return rowIdx;
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    public int nonZeros() {
+        return colPtr[cols];
+    }
+
+    /**
+     * Fraction of elements that are stored
+     */
+    public double density() {
+        return rows == 0 || cols == 0 ? 0.0 : (double) nonZeros() / ((double) rows * cols);
+    }
+
+    public double get(int i, int j) {
+        int k = Arrays.binarySearch(rowIdx, colPtr[j], colPtr[j + 1], i);
+        return k >= 0 ? values[k] : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "CscMatrix[" + rows + "x" + cols + ", nnz=" + nonZeros() + "]";
+    }
+}
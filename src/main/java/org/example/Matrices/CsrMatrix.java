@@ -0,0 +1,155 @@
+package org.example.Matrices;
+
+import java.util.Arrays;
+
+/**
+ * Sparse matrix in compressed sparse row form
+ *
+ * The nonzeros of row i are values[rowPtr[i] .. rowPtr[i + 1]) and sit in the columns
+ * colIdx[rowPtr[i] .. rowPtr[i + 1]), in increasing column order. Memory and the work of
+ * every kernel scale with the number of nonzeros rather than with rows x cols.
+ */
+public class CsrMatrix {
+    private final int rows;
+    private final int cols;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] values;
+
+    /**
+     * Wrap existing CSR arrays without copying
+     */
+    public CsrMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        if (rows < 0 || cols < 0 || rowPtr.length != rows + 1 || rowPtr[0] != 0
+                || colIdx.length < rowPtr[rows] || values.length < rowPtr[rows]) {
+            throw new IllegalArgumentException("Invalid CSR layout for " + rows + "x" + cols
+                    + " with " + (rowPtr.length > rows ? rowPtr[rowPtr.length - 1] : -1) + " nonzeros");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Copy the nonzero elements of a dense matrix
+     */
+    public static CsrMatrix fromDense(DenseMatrix matrix) {
+        int rows = matrix.rows();
+        int cols = matrix.cols();
+        double[] data = matrix.data();
+
+        int[] rowPtr = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int start = matrix.index(i, 0);
+            int count = 0;
+            for (int j = 0; j < cols; j++) {
+                if (data[start + j] != 0.0) {
+                    count++;
+                }
+            }
+            rowPtr[i + 1] = Math.addExact(rowPtr[i], count);
+        }
+
+        int[] colIdx = new int[rowPtr[rows]];
+        double[] values = new double[rowPtr[rows]];
+        for (int i = 0; i < rows; i++) {
+            int start = matrix.index(i, 0);
+            int next = rowPtr[i];
+            for (int j = 0; j < cols; j++) {
+                double value = data[start + j];
+                if (value != 0.0) {
+                    colIdx[next] = j;
+                    values[next++] = value;
+                }
+            }
+        }
+        return new CsrMatrix(rows, cols, rowPtr, colIdx, values);
+    }
+
+    /**
+     * Expand into a new dense matrix
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        double[] data = result.data();
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                data[i * cols + colIdx[k]] = values[k];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The same matrix in compressed sparse column form
+     */
+    public CscMatrix toCsc() {
+        int nnz = nonZeros();
+        int[] colPtr = new int[cols + 1];
+        for (int k = 0; k < nnz; k++) {
+            colPtr[colIdx[k] + 1]++;
+        }
+        for (int j = 0; j < cols; j++) {
+            colPtr[j + 1] += colPtr[j];
+        }
+
+        int[] next = Arrays.copyOf(colPtr, cols);
+        int[] rowIdx = new int[nnz];
+        double[] cscValues = new double[nnz];
+        // Walking rows in order leaves every column's row indices sorted
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                int slot = next[colIdx[k]]++;
+                rowIdx[slot] = i;
+                cscValues[slot] = values[k];
+            }
+        }
+        return new CscMatrix(rows, cols, colPtr, rowIdx, cscValues);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Start of each row in colIdx and values, plus the total count at index rows
+     */
+    public int[] rowPtr() {
+        return rowPtr;
+    }
+
+    public int[] colIdx() {
+        return colIdx;
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    public int nonZeros() {
+        return rowPtr[rows];
+    }
+
+    /**
+     * Fraction of elements that are stored
+     */
+    public double density() {
+        return rows == 0 || cols == 0 ? 0.0 : (double) nonZeros() / ((double) rows * cols);
+    }
+
+    public double get(int i, int j) {
+        int k = Arrays.binarySearch(colIdx, rowPtr[i], rowPtr[i + 1], j);
+        return k >= 0 ? values[k] : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "CsrMatrix[" + rows + "x" + cols + ", nnz=" + nonZeros() + "]";
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.Matrices;
+
+import java.util.Arrays;
+
+/**
+ * Dense row-major matrix backed by one contiguous double[]
+ *
+ * Element (i, j) lives at data[offset + i * stride + j]. A freshly allocated
+ * matrix has offset 0 and stride == cols; views created with {@link #view}
+ * share the parent's backing array and keep the parent's stride, so sub-blocks
+ * can be handed to kernels without copying.
+ */
+public class DenseMatrix {
+    private static final int TRANSPOSE_BLOCK = 64;
+
+    private final double[] data;
+    private final int rows;
+    private final int cols;
+    private final int offset;
+    private final int stride;
+
+    /**
+     * Allocate a zero-filled rows x cols matrix
+     */
+    public DenseMatrix(int rows, int cols) {
+        this(new double[Math.multiplyExact(rows, cols)], 0, rows, cols, cols);
+    }
+
+    private DenseMatrix(double[] data, int offset, int rows, int cols, int stride) {
+        if (rows < 0 || cols < 0 || offset < 0 || stride < cols) {
+            throw new IllegalArgumentException("Invalid matrix layout: " + rows + "x" + cols
+                    + " offset=" + offset + " stride=" + stride);
+        }
+        if (rows > 0 && cols > 0 && (long) offset + (long) (rows - 1) * stride + cols > data.length) {
+            throw new IllegalArgumentException("Backing array too small for " + rows + "x" + cols
+                    + " offset=" + offset + " stride=" + stride);
+        }
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Wrap an existing row-major array without copying
+     */
+    public static DenseMatrix wrap(double[] data, int rows, int cols) {
+        return new DenseMatrix(data, 0, rows, cols, cols);
+    }
+
+    /**
+     * Wrap an existing array with an explicit offset and row stride without copying
+     */
+    public static DenseMatrix wrap(double[] data, int offset, int rows, int cols, int stride) {
+        return new DenseMatrix(data, offset, rows, cols, stride);
+    }
+
+    /**
+     * Copy a jagged matrix into a new contiguous matrix
+     */
+    public static DenseMatrix of(double[][] matrix) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(matrix[i], 0, result.data, i * cols, cols);
+        }
+        return result;
+    }
+
+    /**
+     * Copy this matrix into a new jagged array
+     */
+    public double[][] toArray() {
+        double[][] result = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            int start = offset + i * stride;
+            result[i] = Arrays.copyOfRange(data, start, start + cols);
+        }
+        return result;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Backing array, shared with every view of this matrix
+     */
+    public double[] data() {
+        return data;
+    }
+
+    /**
+     * Index of element (0, 0) in the backing array
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Distance in the backing array between the starts of two consecutive rows
+     */
+    public int stride() {
+        return stride;
+    }
+
+    /**
+     * Index of element (i, j) in the backing array
+     */
+    public int index(int i, int j) {
+        return offset + i * stride + j;
+    }
+
+    public double get(int i, int j) {
+        return data[offset + i * stride + j];
+    }
+
+    public void set(int i, int j, double value) {
+        data[offset + i * stride + j] = value;
+    }
+
+    /**
+     * True if the rows are laid out back to back with no gaps
+     */
+    public boolean isContiguous() {
+        return stride == cols || rows <= 1;
+    }
+
+    /**
+     * A rows x cols window starting at (rowStart, colStart) sharing this matrix's storage
+     */
+    public DenseMatrix view(int rowStart, int colStart, int rows, int cols) {
+        if (rowStart < 0 || colStart < 0 || rowStart + rows > this.rows || colStart + cols > this.cols) {
+            throw new IndexOutOfBoundsException("View " + rows + "x" + cols + " at (" + rowStart + ", "
+                    + colStart + ") exceeds " + this.rows + "x" + this.cols);
+        }
+        return new DenseMatrix(data, index(rowStart, colStart), rows, cols, stride);
+    }
+
+    /**
+     * Copy into a new contiguous matrix
+     */
+    public DenseMatrix copy() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        result.copyFrom(this);
+        return result;
+    }
+
+    /**
+     * Overwrite this matrix with the contents of a matrix of the same shape
+     */
+    public void copyFrom(DenseMatrix source) {
+        if (source.rows != rows || source.cols != cols) {
+            throw new IllegalArgumentException("Shape mismatch: " + source.rows + "x" + source.cols
+                    + " into " + rows + "x" + cols);
+        }
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(source.data, source.index(i, 0), data, index(i, 0), cols);
+        }
+    }
+
+    /**
+     * Set every element to the given value
+     */
+    public void fill(double value) {
+        for (int i = 0; i < rows; i++) {
+            int start = index(i, 0);
+            Arrays.fill(data, start, start + cols, value);
+        }
+    }
+
+    /**
+     * Multiply every element by the given factor
+     */
+    public void scale(double factor) {
+        for (int i = 0; i < rows; i++) {
+            int start = index(i, 0);
+            for (int j = start; j < start + cols; j++) {
+                data[j] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Blocked transpose into a new contiguous cols x rows matrix
+     */
+    public DenseMatrix transpose() {
+        DenseMatrix result = new DenseMatrix(cols, rows);
+        transposeInto(result);
+        return result;
+    }
+
+    /**
+     * Blocked transpose into an existing cols x rows matrix, overwriting it
+     */
+    public void transposeInto(DenseMatrix out) {
+        if (out.rows != cols || out.cols != rows) {
+            throw new IllegalArgumentException("Shape mismatch: transpose of " + rows + "x" + cols
+                    + " into " + out.rows + "x" + out.cols);
+        }
+        double[] outData = out.data;
+
+        for (int i = 0; i < rows; i += TRANSPOSE_BLOCK) {
+            int iLimit = Math.min(i + TRANSPOSE_BLOCK, rows);
+
+            for (int j = 0; j < cols; j += TRANSPOSE_BLOCK) {
+                int jLimit = Math.min(j + TRANSPOSE_BLOCK, cols);
+
+                for (int ii = i; ii < iLimit; ii++) {
+                    int rowStart = offset + ii * stride;
+                    for (int jj = j; jj < jLimit; jj++) {
+                        outData[out.offset + jj * out.stride + ii] = data[rowStart + jj];
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DenseMatrix[" + rows + "x" + cols + ", offset=" + offset + ", stride=" + stride + "]";
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.Matrices;
+
+/**
+ * Dense row-major single-precision matrix backed by one contiguous float[]
+ *
+ * Element (i, j) lives at data[i * cols + j]. Half the size of a {@link DenseMatrix}
+ * of the same shape, so float kernels move half the bytes and fit twice as many
+ * lanes in every vector.
+ */
+public class FloatMatrix {
+    private static final int TRANSPOSE_BLOCK = 64;
+
+    private final float[] data;
+    private final int rows;
+    private final int cols;
+
+    /**
+     * Allocate a zero-filled rows x cols matrix
+     */
+    public FloatMatrix(int rows, int cols) {
+        this(new float[Math.multiplyExact(rows, cols)], rows, cols);
+    }
+
+    private FloatMatrix(float[] data, int rows, int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > data.length) {
+            throw new IllegalArgumentException("Invalid matrix layout: " + rows + "x" + cols
+                    + " in " + data.length + " elements");
+        }
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Wrap an existing row-major array without copying
+     */
+    public static FloatMatrix wrap(float[] data, int rows, int cols) {
+        return new FloatMatrix(data, rows, cols);
+    }
+
+    /**
+     * Round a jagged double matrix to single precision
+     */
+    public static FloatMatrix of(double[][] matrix) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        FloatMatrix result = new FloatMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                result.data[i * cols + j] = (float) matrix[i][j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Round a flat double matrix to single precision
+     */
+    public static FloatMatrix of(DenseMatrix matrix) {
+        FloatMatrix result = new FloatMatrix(matrix.rows(), matrix.cols());
+        double[] source = matrix.data();
+        for (int i = 0; i < result.rows; i++) {
+            int start = matrix.index(i, 0);
+            for (int j = 0; j < result.cols; j++) {
+                result.data[i * result.cols + j] = (float) source[start + j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Widen into a new jagged double array
+     */
+    public double[][] toArray() {
+        double[][] result = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                result[i][j] = data[i * cols + j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Widen into a new flat double matrix
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        double[] target = result.data();
+        for (int i = 0; i < rows * cols; i++) {
+            target[i] = data[i];
+        }
+        return result;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Backing array
+     */
+    public float[] data() {
+        return data;
+    }
+
+    /**
+     * Index of element (i, j) in the backing array
+     */
+    public int index(int i, int j) {
+        return i * cols + j;
+    }
+
+    public float get(int i, int j) {
+        return data[i * cols + j];
+    }
+
+    public void set(int i, int j, float value) {
+        data[i * cols + j] = value;
+    }
+
+    /**
+     * Blocked transpose into a new cols x rows matrix
+     */
+    public FloatMatrix transpose() {
+        FloatMatrix result = new FloatMatrix(cols, rows);
+
+        for (int i = 0; i < rows; i += TRANSPOSE_BLOCK) {
+            int iLimit = Math.min(i + TRANSPOSE_BLOCK, rows);
+
+            for (int j = 0; j < cols; j += TRANSPOSE_BLOCK) {
+                int jLimit = Math.min(j + TRANSPOSE_BLOCK, cols);
+
+                for (int ii = i; ii < iLimit; ii++) {
+                    for (int jj = j; jj < jLimit; jj++) {
+                        result.data[jj * rows + ii] = data[ii * cols + jj];
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FloatMatrix[" + rows + "x" + cols + "]";
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.Matrices;
+
+/**
+ * Dense row-major matrix of 16-bit integers with one scale per row
+ *
+ * Same symmetric per-row scheme as {@link Int8Matrix} over [-32767, 32767]: half the
+ * size of a {@link DenseMatrix} with a rounding error about 258 times smaller than int8.
+ */
+public class Int16Matrix {
+    /**
+     * Largest quantized magnitude
+     */
+    public static final int MAX_VALUE = 32767;
+
+    private final short[] data;
+    private final double[] scales;
+    private final int rows;
+    private final int cols;
+
+    private Int16Matrix(int rows, int cols) {
+        this.data = new short[Math.multiplyExact(rows, cols)];
+        this.scales = new double[rows];
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Quantize every row of a flat double matrix against its own largest magnitude
+     */
+    public static Int16Matrix quantize(DenseMatrix matrix) {
+        Int16Matrix result = new Int16Matrix(matrix.rows(), matrix.cols());
+        double[] source = matrix.data();
+
+        for (int i = 0; i < result.rows; i++) {
+            int start = matrix.index(i, 0);
+            double max = 0.0;
+            for (int j = 0; j < result.cols; j++) {
+                max = Math.max(max, Math.abs(source[start + j]));
+            }
+            if (max == 0.0) {
+                continue;
+            }
+
+            double scale = max / MAX_VALUE;
+            double inverse = MAX_VALUE / max;
+            result.scales[i] = scale;
+            int row = i * result.cols;
+            for (int j = 0; j < result.cols; j++) {
+                result.data[row + j] = (short) Math.round(source[start + j] * inverse);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Quantize a single-precision matrix row by row
+     */
+    public static Int16Matrix quantize(FloatMatrix matrix) {
+        return quantize(matrix.toDense());
+    }
+
+    /**
+     * Quantize every column of a matrix, stored as the rows of the transpose
+     * (see {@link Int8Matrix#quantizeColumns})
+     */
+    public static Int16Matrix quantizeColumns(DenseMatrix matrix) {
+        return quantize(matrix.transpose());
+    }
+
+    /**
+     * Multiply every element back by its row scale
+     */
+    public DenseMatrix dequantize() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        double[] target = result.data();
+        for (int i = 0; i < rows; i++) {
+            double scale = scales[i];
+            int row = i * cols;
+            for (int j = 0; j < cols; j++) {
+                target[row + j] = data[row + j] * scale;
+            }
+        }
+        return result;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Backing array of quantized values
+     */
+    public short[] data() {
+        return data;
+    }
+
+    /**
+     * Scale of every row
+     */
+    public double[] scales() {
+        return scales;
+    }
+
+    public double scale(int i) {
+        return scales[i];
+    }
+
+    /**
+     * Index of element (i, j) in the backing array
+     */
+    public int index(int i, int j) {
+        return i * cols + j;
+    }
+
+    /**
+     * Quantized value of element (i, j)
+     */
+    public short get(int i, int j) {
+        return data[i * cols + j];
+    }
+
+    @Override
+    public String toString() {
+        return "Int16Matrix[" + rows + "x" + cols + "]";
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.Matrices;
+
+/**
+ * A batch of equally shaped row-major matrices stored back to back in one double[]
+ *
+ * Matrix b of the batch starts at data[offset + b * matrixStride] and is itself
+ * contiguous, so element (i, j) of matrix b lives at
+ * data[offset + b * matrixStride + i * cols + j]. matrixStride may exceed
+ * rows * cols to leave padding between matrices.
+ */
+public class MatrixBatch {
+    private final double[] data;
+    private final int offset;
+    private final int count;
+    private final int rows;
+    private final int cols;
+    private final int matrixStride;
+
+    /**
+     * Allocate a zero-filled batch of count rows x cols matrices
+     */
+    public MatrixBatch(int count, int rows, int cols) {
+        this(new double[Math.multiplyExact(count, Math.multiplyExact(rows, cols))], 0, count, rows, cols, rows * cols);
+    }
+
+    private MatrixBatch(double[] data, int offset, int count, int rows, int cols, int matrixStride) {
+        if (count < 0 || rows < 0 || cols < 0 || offset < 0 || matrixStride < rows * cols) {
+            throw new IllegalArgumentException("Invalid batch layout: " + count + " x " + rows + "x" + cols
+                    + " offset=" + offset + " matrixStride=" + matrixStride);
+        }
+        if (count > 0 && (long) offset + (long) (count - 1) * matrixStride + (long) rows * cols > data.length) {
+            throw new IllegalArgumentException("Backing array too small for " + count + " x " + rows + "x" + cols
+                    + " offset=" + offset + " matrixStride=" + matrixStride);
+        }
+        this.data = data;
+        this.offset = offset;
+        this.count = count;
+        this.rows = rows;
+        this.cols = cols;
+        this.matrixStride = matrixStride;
+    }
+
+    /**
+     * Wrap count tightly packed matrices without copying
+     */
+    public static MatrixBatch wrap(double[] data, int count, int rows, int cols) {
+        return new MatrixBatch(data, 0, count, rows, cols, rows * cols);
+    }
+
+    /**
+     * Wrap an existing array with an explicit offset and distance between matrices without copying
+     */
+    public static MatrixBatch wrap(double[] data, int offset, int count, int rows, int cols, int matrixStride) {
+        return new MatrixBatch(data, offset, count, rows, cols, matrixStride);
+    }
+
+    /**
+     * Copy equally shaped matrices into a new batch
+     */
+    public static MatrixBatch of(DenseMatrix... matrices) {
+        int rows = matrices.length == 0 ? 0 : matrices[0].rows();
+        int cols = matrices.length == 0 ? 0 : matrices[0].cols();
+        MatrixBatch batch = new MatrixBatch(matrices.length, rows, cols);
+        for (int b = 0; b < matrices.length; b++) {
+            batch.get(b).copyFrom(matrices[b]);
+        }
+        return batch;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Backing array shared by every matrix of the batch
+     */
+    public double[] data() {
+        return data;
+    }
+
+    /**
+     * Distance in the backing array between the starts of two consecutive matrices
+     */
+    public int matrixStride() {
+        return matrixStride;
+    }
+
+    /**
+     * Index of element (0, 0) of matrix b in the backing array
+     */
+    public int offset(int b) {
+        return offset + b * matrixStride;
+    }
+
+    /**
+     * Matrix b of the batch as a view sharing the batch's storage
+     */
+    public DenseMatrix get(int b) {
+        if (b < 0 || b >= count) {
+            throw new IndexOutOfBoundsException("Matrix " + b + " of a batch of " + count);
+        }
+        return DenseMatrix.wrap(data, offset(b), rows, cols, cols);
+    }
+
+    /**
+     * Copy every matrix of the batch into a new array of contiguous matrices
+     */
+    public DenseMatrix[] toMatrices() {
+        DenseMatrix[] matrices = new DenseMatrix[count];
+        for (int b = 0; b < count; b++) {
+            matrices[b] = get(b).copy();
+        }
+        return matrices;
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixBatch[" + count + " x " + rows + "x" + cols + ", offset=" + offset
+                + ", matrixStride=" + matrixStride + "]";
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.Matrices;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Dense row-major matrix stored outside the Java heap in a {@link MemorySegment}
+ *
+ * Element (i, j) lives at byte offset (i * stride + j) * 8 of the segment. Rows are
+ * padded to a whole number of cache lines and the segment is allocated cache-line
+ * aligned, so every row starts on a 64-byte boundary and full-width vector loads
+ * never straddle a line at the start of a row. Offsets are longs, so a matrix may
+ * hold more than 2^31 elements, and the data never adds to heap size or GC work.
+ *
+ * Memory belongs to a shared arena and is freed by {@link #close()}; any thread may
+ * read and write the matrix until then. Matrices created with {@link #wrap} view a
+ * segment owned by someone else, such as a tile of a memory-mapped file, and
+ * closing them frees nothing.
+ */
+public class OffHeapMatrix implements AutoCloseable {
+
+    /**
+     * Alignment in bytes of the segment and of every row
+     */
+    public static final int ALIGNMENT = 64;
+
+    private static final int ROW_PAD = ALIGNMENT / Double.BYTES;
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final int rows;
+    private final int cols;
+    private final int stride;
+
+    /**
+     * Allocate a zero-filled rows x cols matrix
+     */
+    public OffHeapMatrix(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Invalid matrix dimensions: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = (cols + ROW_PAD - 1) / ROW_PAD * ROW_PAD;
+        this.arena = Arena.ofShared();
+        // Arena allocations are zero-filled
+        this.segment = arena.allocate(Math.max(1L, (long) rows * stride * Double.BYTES), ALIGNMENT);
+    }
+
+    private OffHeapMatrix(MemorySegment segment, int rows, int cols, int stride) {
+        if (rows < 0 || cols < 0 || stride < cols) {
+            throw new IllegalArgumentException("Invalid matrix layout: " + rows + "x" + cols + " stride=" + stride);
+        }
+        if (rows > 0 && ((long) (rows - 1) * stride + cols) * Double.BYTES > segment.byteSize()) {
+            throw new IllegalArgumentException("Segment too small for " + rows + "x" + cols + " stride=" + stride);
+        }
+        this.arena = null;
+        this.segment = segment;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = stride;
+    }
+
+    /**
+     * View an existing native-order segment as a rows x cols matrix with the given row stride,
+     * without copying and without taking ownership of it
+     */
+    public static OffHeapMatrix wrap(MemorySegment segment, int rows, int cols, int stride) {
+        return new OffHeapMatrix(segment, rows, cols, stride);
+    }
+
+    /**
+     * Copy a heap matrix into a new off-heap matrix
+     */
+    public static OffHeapMatrix of(DenseMatrix matrix) {
+        OffHeapMatrix result = new OffHeapMatrix(matrix.rows(), matrix.cols());
+        result.copyFrom(matrix);
+        return result;
+    }
+
+    /**
+     * Copy into a new heap matrix; fails for matrices with more than 2^31 - 1 elements
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        copyInto(result);
+        return result;
+    }
+
+    /**
+     * Overwrite this matrix with the contents of a heap matrix of the same shape
+     */
+    public void copyFrom(DenseMatrix source) {
+        checkShape(source);
+        for (int i = 0; i < rows; i++) {
+            MemorySegment.copy(source.data(), source.index(i, 0), segment, ValueLayout.JAVA_DOUBLE, offset(i, 0), cols);
+        }
+    }
+
+    /**
+     * Copy this matrix into a heap matrix of the same shape
+     */
+    public void copyInto(DenseMatrix target) {
+        checkShape(target);
+        for (int i = 0; i < rows; i++) {
+            MemorySegment.copy(segment, ValueLayout.JAVA_DOUBLE, offset(i, 0), target.data(), target.index(i, 0), cols);
+        }
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Distance in elements between the starts of two consecutive rows
+     */
+    public int stride() {
+        return stride;
+    }
+
+    /**
+     * Backing segment, valid until this matrix is closed
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /**
+     * Byte offset of element (i, j) in the segment
+     */
+    public long offset(int i, int j) {
+        return ((long) i * stride + j) * Double.BYTES;
+    }
+
+    public double get(int i, int j) {
+        return segment.get(ValueLayout.JAVA_DOUBLE, offset(i, j));
+    }
+
+    public void set(int i, int j, double value) {
+        segment.set(ValueLayout.JAVA_DOUBLE, offset(i, j), value);
+    }
+
+    /**
+     * Set every element, padding included, to zero
+     */
+    public void clear() {
+        segment.fill((byte) 0);
+    }
+
+    /**
+     * Multiply every element by the given factor
+     */
+    public void scale(double factor) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                long offset = offset(i, j);
+                segment.set(ValueLayout.JAVA_DOUBLE, offset, factor * segment.get(ValueLayout.JAVA_DOUBLE, offset));
+            }
+        }
+    }
+
+    /**
+     * Off-heap bytes held by this matrix, padding included
+     */
+    public long bytes() {
+        return segment.byteSize();
+    }
+
+    /**
+     * Free the off-heap memory; the matrix must not be used afterwards. Does nothing for wrapped segments
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    private void checkShape(DenseMatrix other) {
+        if (other.rows() != rows || other.cols() != cols) {
+            throw new IllegalArgumentException("Shape mismatch: " + other.rows() + "x" + other.cols()
+                    + " and " + rows + "x" + cols);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapMatrix[" + rows + "x" + cols + ", stride=" + stride + "]";
+    }
+}
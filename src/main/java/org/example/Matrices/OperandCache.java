@@ -0,0 +1,150 @@
+package org.example.Matrices;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of prepared right-hand operands, least recently used first out
+ *
+ * Entries are keyed by the identity of B, never by its contents, and optionally by
+ * a caller-maintained version: {@link #prepare(DenseMatrix, long)} with a version
+ * other than the cached one re-prepares B, which is how callers that update a
+ * weight matrix in place invalidate it. The cache keeps B itself reachable until
+ * the entry is evicted or {@link #invalidate(DenseMatrix) invalidated}. Capacity
+ * is counted in bytes of prepared copies; an operand larger than the whole
+ * capacity is prepared but not cached.
+ */
+public class OperandCache {
+
+    /**
+     * System property overriding the capacity in bytes of {@link #shared()}
+     */
+    public static final String CAPACITY_PROPERTY = "matrices.operand.cache.bytes";
+
+    private static final long DEFAULT_CAPACITY = 256L << 20;
+
+    private static final OperandCache SHARED = new OperandCache(Long.getLong(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+
+    private final long capacity;
+    private final LinkedHashMap<Key, PreparedOperand> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    public OperandCache(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Process-wide cache, 256 MB unless configured through {@link #CAPACITY_PROPERTY}
+     */
+    public static OperandCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Prepared form of B, keyed by identity only
+     */
+    public PreparedOperand prepare(DenseMatrix matrix) {
+        return prepare(matrix, 0L);
+    }
+
+    /**
+     * Prepared form of B at the given version, re-preparing it if the cached entry is older
+     */
+    public synchronized PreparedOperand prepare(DenseMatrix matrix, long version) {
+        Key key = new Key(matrix);
+        PreparedOperand cached = entries.get(key);
+        if (cached != null && cached.version() == version) {
+            hits++;
+            return cached;
+        }
+
+        misses++;
+        if (cached != null) {
+            remove(key);
+        }
+        PreparedOperand prepared = PreparedOperand.of(matrix, version);
+        if (prepared.bytes() <= capacity) {
+            entries.put(key, prepared);
+            bytes += prepared.bytes();
+            evict();
+        }
+        return prepared;
+    }
+
+    /**
+     * Drop the entry for B, if any
+     */
+    public synchronized void invalidate(DenseMatrix matrix) {
+        remove(new Key(matrix));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Bytes currently held by cached prepared copies
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    private void remove(Key key) {
+        PreparedOperand removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.bytes();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, PreparedOperand>> eldest = entries.entrySet().iterator();
+        while (bytes > capacity && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "OperandCache[" + entries.size() + " entries, " + bytes + "/" + capacity + " bytes, "
+                + hits + " hits, " + misses + " misses]";
+    }
+
+    /**
+     * Identity key for a matrix
+     */
+    private record Key(DenseMatrix matrix) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.matrix == matrix;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(matrix);
+        }
+    }
+}
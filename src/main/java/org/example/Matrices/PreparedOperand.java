@@ -0,0 +1,90 @@
+package org.example.Matrices;
+
+/**
+ * A right-hand operand B together with the transposed copy the transposing kernels read
+ *
+ * Preparing B costs one O(n^2) transpose and one allocation; multiplying a stream of
+ * different A's against the same prepared B then skips both. The transposed copy is a
+ * snapshot: writes to B made after preparing it are not seen, so prepare again (or
+ * bump the version passed to {@link OperandCache#prepare(DenseMatrix, long)}) after
+ * changing B.
+ *
+ * An operand can also be prepared from a transpose the caller already holds, in which
+ * case B itself is only materialized if a kernel that reads B row-major asks for it.
+ */
+public final class PreparedOperand {
+    private volatile DenseMatrix matrix;
+    private final DenseMatrix transposed;
+    private final long version;
+
+    private PreparedOperand(DenseMatrix matrix, DenseMatrix transposed, long version) {
+        this.matrix = matrix;
+        this.transposed = transposed;
+        this.version = version;
+    }
+
+    /**
+     * Prepare B once, outside of any cache
+     */
+    public static PreparedOperand of(DenseMatrix matrix) {
+        return of(matrix, 0L);
+    }
+
+    static PreparedOperand of(DenseMatrix matrix, long version) {
+        return new PreparedOperand(matrix, matrix.transpose(), version);
+    }
+
+    /**
+     * Prepare B = transposed^T, using transposed as is when it is contiguous; a view into a
+     * wider matrix is copied, since the transposing kernels index the transpose with stride n
+     */
+    public static PreparedOperand ofTransposed(DenseMatrix transposed) {
+        return new PreparedOperand(null, transposed.isContiguous() ? transposed : transposed.copy(), 0L);
+    }
+
+    /**
+     * The original operand B, transposed back on first use if it was prepared from its transpose
+     */
+    public DenseMatrix matrix() {
+        DenseMatrix result = matrix;
+        if (result == null) {
+            result = transposed.transpose();
+            matrix = result;
+        }
+        return result;
+    }
+
+    /**
+     * Contiguous cols x rows transpose of B as of preparation
+     */
+    public DenseMatrix transposed() {
+        return transposed;
+    }
+
+    public int rows() {
+        return transposed.cols();
+    }
+
+    public int cols() {
+        return transposed.rows();
+    }
+
+    /**
+     * Version B had when it was prepared
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Bytes held by the prepared copy, not counting B itself
+     */
+    public long bytes() {
+        return (long) transposed.rows() * transposed.cols() * Double.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedOperand[" + rows() + "x" + cols() + ", version=" + version + "]";
+    }
+}
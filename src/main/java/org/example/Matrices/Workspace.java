@@ -0,0 +1,73 @@
+package org.example.Matrices;
+
+/**
+ * Reusable scratch buffers for kernels that need transposed or packed copies of their operands
+ *
+ * Buffers are addressed by slot, grow to the largest size requested so far and are
+ * never shrunk, so once a workload has reached its steady state repeated calls
+ * allocate nothing. A workspace is not thread-safe; kernels keep one per thread.
+ */
+public class Workspace {
+    private final double[][] buffers;
+    private final DenseMatrix[] matrices;
+    private boolean inUse;
+
+    /**
+     * A workspace with the given number of independent slots
+     */
+    public Workspace(int slots) {
+        this.buffers = new double[slots][0];
+        this.matrices = new DenseMatrix[slots];
+    }
+
+    /**
+     * Claim this workspace for one kernel call. Returns false if the same thread is already
+     * inside a call using it, e.g. a Fork/Join worker that picked up another multiplication
+     * while joining; the caller should then use a fresh workspace.
+     */
+    public boolean acquire() {
+        if (inUse) {
+            return false;
+        }
+        inUse = true;
+        return true;
+    }
+
+    public void release() {
+        inUse = false;
+    }
+
+    /**
+     * Buffer of at least minLength doubles in the given slot; contents are unspecified
+     */
+    public double[] buffer(int slot, int minLength) {
+        if (buffers[slot].length < minLength) {
+            buffers[slot] = new double[minLength];
+        }
+        return buffers[slot];
+    }
+
+    /**
+     * Contiguous rows x cols matrix backed by the buffer in the given slot; contents are unspecified
+     */
+    public DenseMatrix matrix(int slot, int rows, int cols) {
+        double[] buffer = buffer(slot, Math.multiplyExact(rows, cols));
+        DenseMatrix matrix = matrices[slot];
+        if (matrix == null || matrix.data() != buffer || matrix.rows() != rows || matrix.cols() != cols) {
+            matrix = DenseMatrix.wrap(buffer, rows, cols);
+            matrices[slot] = matrix;
+        }
+        return matrix;
+    }
+
+    /**
+     * Bytes currently held by all slots
+     */
+    public long bytes() {
+        long total = 0;
+        for (double[] buffer : buffers) {
+            total += (long) buffer.length * Double.BYTES;
+        }
+        return total;
+    }
+}
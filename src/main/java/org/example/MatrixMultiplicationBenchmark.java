@@ -1,15 +1,17 @@
 package org.example;
 
 import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Matrices.DenseMatrix;
 import org.openjdk.jmh.annotations.*;
 
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
-import org.openjdk.jmh.runner.options.OptionsBuilder;
-import org.openjdk.jmh.runner.options.TimeValue;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
 public class MatrixMultiplicationBenchmark {
@@ -47,24 +49,39 @@ public class MatrixMultiplicationBenchmark {
         }
     }
     /**
-     * Main benchmark for execution time and throughput
+     * Main benchmark for steady-state and single-shot execution time
      */
     @Benchmark
-    @BenchmarkMode({Mode.AverageTime, Mode.Throughput, Mode.SingleShotTime})
+    @BenchmarkMode({Mode.AverageTime, Mode.SingleShotTime})
     @OutputTimeUnit(TimeUnit.MILLISECONDS)
-    @Fork(value = 1)
-    @Warmup(iterations = 2, time = 3)
-    @Measurement(iterations = 3, time = 3)
+    @Fork(value = BenchmarkOptions.FORKS)
+    @Warmup(iterations = BenchmarkOptions.WARMUP_ITERATIONS, time = 2)
+    @Measurement(iterations = BenchmarkOptions.MEASUREMENT_ITERATIONS, time = 2)
     public void multiply(AlgorithmState state, Blackhole blackhole) {
         AbstractMatrixMultiplicationAlgorithm algorithm = state.getAlgorithm();
         double[][] result = algorithm.multiply(state.matrixA, state.matrixB);
         blackhole.consume(result);
     }
 
+    /**
+     * Same workload on the flat row-major representation
+     */
+    @Benchmark
+    @BenchmarkMode({Mode.AverageTime, Mode.SingleShotTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(value = BenchmarkOptions.FORKS)
+    @Warmup(iterations = BenchmarkOptions.WARMUP_ITERATIONS, time = 2)
+    @Measurement(iterations = BenchmarkOptions.MEASUREMENT_ITERATIONS, time = 2)
+    public void multiplyDense(AlgorithmState state, Blackhole blackhole) {
+        AbstractMatrixMultiplicationAlgorithm algorithm = state.getAlgorithm();
+        DenseMatrix result = algorithm.multiply(state.denseA, state.denseB);
+        blackhole.consume(result);
+    }
+
     /**
      * Main method to run the benchmark
      */
-    public static void main(String[] args) throws RunnerException {
+    public static void main(String[] args) throws RunnerException, IOException {
         System.out.println("===== MATRIX MULTIPLICATION BENCHMARK =====");
 
         var algorithms = AbstractMatrixMultiplicationAlgorithm.discoverAlgorithms();
@@ -72,9 +89,13 @@ public class MatrixMultiplicationBenchmark {
             System.err.println("No algorithms found! Cannot run benchmarks.");
             return;
         }
-        String[] algorithmNames = algorithms.stream()
+        String[] algorithmNames = BenchmarkOptions.selectAlgorithms(algorithms.stream()
                 .map(AbstractMatrixMultiplicationAlgorithm::getName)
-                .toArray(String[]::new);
+                .toArray(String[]::new));
+        if (algorithmNames.length == 0) {
+            System.err.println("No algorithms match -D" + BenchmarkOptions.ALGORITHMS_PROPERTY + "! Cannot run benchmarks.");
+            return;
+        }
 
         System.out.println("\n===== BENCHMARKING THE FOLLOWING ALGORITHMS =====");
         for (String name : algorithmNames) {
@@ -82,35 +103,34 @@ public class MatrixMultiplicationBenchmark {
         }
         System.out.println("=================================================\n");
 
-        // Create options with all algorithms and matrix sizes
-        var options = new OptionsBuilder()
-                .include(MatrixMultiplicationBenchmark.class.getSimpleName())
-                // "10", "16", "33", "64", "128", "256", "512", "1024", "2056", "5000",
-                .param("size", "3","1000")
-                .param("algorithmName", algorithmNames)
-                .warmupIterations(1)
-                .warmupTime(TimeValue.seconds(1))
-                .measurementIterations(2)
-                .measurementTime(TimeValue.seconds(1))
-                .timeout(TimeValue.minutes(30))
-                .forks(1)
-                .shouldDoGC(true)
-                .resultFormat(ResultFormatType.CSV)
-                .result("matrix-multiplication-benchmark-results.csv")
-                .jvmArgs(
+        // Every algorithm at three sizes on flat operands; size 3 is small enough for setup to test
+        // each algorithm for correctness. With 3 forks of 15 two-second iterations each
+        // algorithm/size/method combination costs a minute and a half, so the old cross product
+        // of six sizes and both methods ran for the better part of a day. Widen it with
+        // -Dbenchmark.sizes=3,64,256,1024, narrow it with -Dbenchmark.algorithms=<regex>, or add
+        // the double[][] multiply benchmark back with -Dbenchmark.jagged=true; rectangular shapes
+        // and thread scaling are covered by ShapeScalingBenchmark
+        String[] sizes = BenchmarkOptions.listProperty(BenchmarkOptions.SIZES_PROPERTY, "3", "512", "1000");
+        var options = BenchmarkOptions.defaults(MatrixMultiplicationBenchmark.class,
                         "-Xms8g", "-Xmx12g",                   // Large heap size (adjust based on available RAM)
                         //"-XX:+AlwaysPreTouch",             //Pre-touch memory pages during JVM startup
-                        "--add-modules=jdk.incubator.vector",   //vector api
                         "-XX:+UseNUMA",                        // Enable NUMA support
-                        "-XX:+UseSuperWord"                   // Enable additional vectorization
-                        )
-                .build();
+                        "-XX:+UseSuperWord")                  // Enable additional vectorization
+                .param("size", sizes)
+                .param("algorithmName", algorithmNames)
+                .resultFormat(ResultFormatType.CSV)
+                .result("matrix-multiplication-benchmark-results.csv");
+        if (!Boolean.getBoolean(BenchmarkOptions.JAGGED_PROPERTY)) {
+            options.exclude(MatrixMultiplicationBenchmark.class.getSimpleName() + "\\.multiply$");
+        }
 
-        System.out.println("\nRunning matrix multiplication benchmarks with diverse matrix sizes for " +
-                algorithmNames.length + " algorithms...");
-        new Runner(options).run();
+        System.out.println("\nRunning matrix multiplication benchmarks with sizes " + String.join(", ", sizes)
+                + " for " + algorithmNames.length + " algorithms...");
+        Collection<RunResult> results = new Runner(options.build()).run();
+        BenchmarkOptions.reportGflops(results, "matrix-multiplication-benchmark-gflops.csv");
 
-        System.out.println("\nBenchmark complete. Results have been saved to 'matrix-multiplication-benchmark-results.csv'");
+        System.out.println("\nBenchmark complete. Results have been saved to 'matrix-multiplication-benchmark-results.csv'"
+                + " and 'matrix-multiplication-benchmark-gflops.csv'");
 
     }
 }
\ No newline at end of file
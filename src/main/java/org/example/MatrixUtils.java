@@ -1,5 +1,11 @@
 package org.example;
 
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.OffHeapMatrix;
+import org.example.Storage.MatrixFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Random; /**
  * Utility class for matrix operations
  */
@@ -18,6 +24,41 @@ public class MatrixUtils {
         return matrix;
     }
 
+    /**
+     * Generate a random flat row-major matrix with the given dimensions
+     */
+    public static DenseMatrix randomDense(int rows, int cols) {
+        DenseMatrix matrix = new DenseMatrix(rows, cols);
+        double[] data = matrix.data();
+        Random rand = new Random();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rand.nextDouble();
+        }
+        return matrix;
+    }
+
+    /**
+     * Generate a random matrix file with the given dimensions and tile shape, one tile at
+     * a time, so the matrix may be larger than memory
+     */
+    public static MatrixFile randomFile(Path path, int rows, int cols, int tileRows, int tileCols) throws IOException {
+        MatrixFile file = MatrixFile.create(path, rows, cols, tileRows, tileCols);
+        Random rand = new Random();
+        for (int ti = 0; ti < file.tileRowCount(); ti++) {
+            for (int tj = 0; tj < file.tileColCount(); tj++) {
+                OffHeapMatrix tile = file.tile(ti, tj);
+                for (int i = 0; i < tile.rows(); i++) {
+                    for (int j = 0; j < tile.cols(); j++) {
+                        tile.set(i, j, rand.nextDouble());
+                    }
+                }
+                file.flush(ti, tj);
+                file.release(ti, tj);
+            }
+        }
+        return file;
+    }
+
     /**
      * Pretty print a matrix
      */
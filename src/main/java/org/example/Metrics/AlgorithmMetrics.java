@@ -0,0 +1,111 @@
+package org.example.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals and latency histogram of one algorithm's calls
+ */
+public class AlgorithmMetrics implements AlgorithmMetricsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final String algorithm;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder flops = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    AlgorithmMetrics(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * Add one call to the totals and pass it on to the registered sinks
+     */
+    public void record(int m, int n, int p, int count, long elapsedNanos, long allocated, boolean failed) {
+        latency.record(elapsedNanos);
+        nanos.add(elapsedNanos);
+        if (failed) {
+            failures.increment();
+        } else {
+            flops.add(2L * m * n * p * count);
+        }
+        if (allocated > 0) {
+            allocatedBytes.add(allocated);
+        }
+
+        if (Metrics.hasSinks()) {
+            Metrics.publish(new CallEvent(algorithm, m, n, p, count, elapsedNanos, allocated, failed));
+        }
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.count();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.mean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.percentile(0.5) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.percentile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP999Millis() {
+        return latency.percentile(0.999) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.max() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getGflops() {
+        long total = nanos.sum();
+        return total == 0 ? 0.0 : (double) flops.sum() / total;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        failures.reset();
+        flops.reset();
+        nanos.reset();
+        allocatedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d calls, p50 %.3f ms, p99 %.3f ms, max %.3f ms, %.2f GFLOP/s, %d bytes allocated",
+                algorithm, getCalls(), getP50Millis(), getP99Millis(), getMaxMillis(), getGflops(), getAllocatedBytes());
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.Metrics;
+
+/**
+ * JMX view of one algorithm's calls, registered as org.example:type=Algorithm,name=...
+ */
+public interface AlgorithmMetricsMXBean {
+
+    long getCalls();
+
+    long getFailures();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    /**
+     * Floating point operations per second over all calls, in billions
+     */
+    double getGflops();
+
+    /**
+     * Heap allocated by the calling threads during all calls; allocation on pool threads is not included
+     */
+    long getAllocatedBytes();
+
+    void reset();
+}
@@ -0,0 +1,20 @@
+package org.example.Metrics;
+
+/**
+ * One instrumented multiplication: count products of an m x n by an n x p matrix
+ *
+ * @param nanos          wall-clock time of the whole call
+ * @param allocatedBytes heap allocated by the calling thread during the call, -1 if
+ *                       the JVM cannot measure it; pool threads are not included
+ */
+public record CallEvent(String algorithm, int m, int n, int p, int count, long nanos, long allocatedBytes,
+                        boolean failed) {
+
+    public long flops() {
+        return 2L * m * n * p * count;
+    }
+
+    public double gflops() {
+        return nanos == 0 ? 0.0 : (double) flops() / nanos;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.Metrics;
+
+import org.example.Execution.ExecutionContext;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Live gauges of the shared pool and the shared fork-join pool
+ */
+class ExecutionMetrics implements ExecutionMetricsMXBean {
+
+    @Override
+    public int getSharedPoolQueueDepth() {
+        return ExecutionContext.sharedPool().queuedTasks();
+    }
+
+    @Override
+    public long getForkJoinStealCount() {
+        return forkJoinPool().getStealCount();
+    }
+
+    @Override
+    public long getForkJoinQueuedTasks() {
+        return forkJoinPool().getQueuedTaskCount();
+    }
+
+    @Override
+    public int getForkJoinQueuedSubmissions() {
+        return forkJoinPool().getQueuedSubmissionCount();
+    }
+
+    @Override
+    public int getForkJoinActiveThreads() {
+        return forkJoinPool().getActiveThreadCount();
+    }
+
+    private static ForkJoinPool forkJoinPool() {
+        return ExecutionContext.forkJoin().pool();
+    }
+}
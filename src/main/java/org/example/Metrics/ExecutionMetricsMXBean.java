@@ -0,0 +1,20 @@
+package org.example.Metrics;
+
+/**
+ * JMX view of the shared execution contexts, registered as org.example:type=Execution
+ */
+public interface ExecutionMetricsMXBean {
+
+    /**
+     * Helpers queued on the shared pool but not yet started
+     */
+    int getSharedPoolQueueDepth();
+
+    long getForkJoinStealCount();
+
+    long getForkJoinQueuedTasks();
+
+    int getForkJoinQueuedSubmissions();
+
+    int getForkJoinActiveThreads();
+}
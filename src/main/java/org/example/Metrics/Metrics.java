@@ -0,0 +1,137 @@
+package org.example.Metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide switch and registry for multiplication metrics
+ *
+ * Instrumented algorithms (see AbstractMatrixMultiplicationAlgorithm#instrumented)
+ * check {@link #isEnabled()} once per call and go straight to the wrapped algorithm
+ * while metrics are off, so leaving the wrappers in place costs one volatile read.
+ * Metrics start off unless the JVM runs with -Dmatrix.metrics=true.
+ *
+ * Every algorithm's totals are published over JMX as
+ * org.example:type=Algorithm,name="...", next to org.example:type=Execution with
+ * the queue depth of the shared pool and the steal count of the fork-join pool.
+ */
+public final class Metrics {
+
+    public static final String ENABLED_PROPERTY = "matrix.metrics";
+
+    private static final String DOMAIN = "org.example";
+
+    private static final ConcurrentHashMap<String, AlgorithmMetrics> ALGORITHMS = new ConcurrentHashMap<>();
+    private static final CopyOnWriteArrayList<MetricsSink> SINKS = new CopyOnWriteArrayList<>();
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static volatile boolean executionRegistered;
+
+    private Metrics() {
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void enable() {
+        enabled = true;
+        registerExecution();
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Metrics of the named algorithm, created and registered with JMX on first use
+     */
+    public static AlgorithmMetrics algorithm(String name) {
+        return ALGORITHMS.computeIfAbsent(name, key -> {
+            AlgorithmMetrics metrics = new AlgorithmMetrics(key);
+            register("type=Algorithm,name=" + ObjectName.quote(key), metrics);
+            registerExecution();
+            return metrics;
+        });
+    }
+
+    public static Collection<AlgorithmMetrics> algorithms() {
+        return List.copyOf(ALGORITHMS.values());
+    }
+
+    public static void addSink(MetricsSink sink) {
+        SINKS.add(sink);
+    }
+
+    public static void removeSink(MetricsSink sink) {
+        SINKS.remove(sink);
+    }
+
+    static boolean hasSinks() {
+        return !SINKS.isEmpty();
+    }
+
+    static void publish(CallEvent event) {
+        for (MetricsSink sink : SINKS) {
+            try {
+                sink.accept(event);
+            } catch (RuntimeException e) {
+                // A broken sink must not fail the multiplication it is reporting on
+                System.err.println("Metrics sink failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Heap allocated so far by the calling thread, or -1 if the JVM does not track it
+     */
+    public static long allocatedBytes() {
+        return ALLOCATION == null ? -1 : ALLOCATION.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * One line per algorithm, slowest p99 first
+     */
+    public static String report() {
+        return ALGORITHMS.values().stream()
+                .sorted(Comparator.comparingDouble(AlgorithmMetrics::getP99Millis).reversed())
+                .map(AlgorithmMetrics::toString)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static synchronized void registerExecution() {
+        if (!executionRegistered) {
+            executionRegistered = true;
+            register("type=Execution", new ExecutionMetrics());
+        }
+    }
+
+    private static void register(String properties, Object bean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(bean, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Failed to register " + properties + " with JMX: " + e.getMessage());
+        }
+    }
+}
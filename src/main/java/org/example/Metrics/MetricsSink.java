@@ -0,0 +1,13 @@
+package org.example.Metrics;
+
+/**
+ * Receives every instrumented call, for forwarding to a monitoring system
+ *
+ * Sinks are called on the thread that made the call, right after it returns, so
+ * they should hand the event off rather than do slow work themselves.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    void accept(CallEvent event);
+}
@@ -0,0 +1,158 @@
+package org.example;
+
+import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Algorithms.ParallelForkJoinSIMDTiledMultiplication;
+import org.example.Algorithms.ParallelPackedMicroKernelMultiplication;
+import org.example.Algorithms.ParallelShapeAwareMultiplication;
+import org.example.Algorithms.ParallelThreadPoolSIMDMultiplication;
+import org.example.Execution.ExecutionContext;
+import org.example.Execution.ForkJoinExecutionContext;
+import org.example.Execution.SharedPoolExecutionContext;
+import org.example.Matrices.DenseMatrix;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rectangular and skinny shapes across thread counts
+ *
+ * Square sizes hide most of what goes wrong in practice: a small inner dimension
+ * leaves the kernels memory bound, a small outer dimension leaves threads without
+ * rows to work on, and vector shapes never reach the compute-bound regime at all.
+ * Every shape is given as "m x n x p" (an m x n times an n x p product) and run with
+ * 1, 2, 4, ... up to all cores, each algorithm on a pool of exactly that many
+ * threads, so the results show both absolute speed and parallel scaling.
+ *
+ * The primary score is time per product; main() adds GFLOP/s with confidence bounds
+ * as a secondary table ({@link BenchmarkOptions#reportGflops}), which is what makes
+ * different shapes comparable.
+ */
+public class ShapeScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ShapeState {
+        @Param({
+                "64x64x64",         // tiny: call overhead and dispatch
+                "1024x1024x1024",   // square, compute bound
+                "2000x500x3000",    // rectangular
+                "4096x64x4096",     // small inner dimension: large C, memory bound
+                "128x8192x128",     // large inner dimension: little C to split
+                "16384x256x16",     // tall and skinny
+                "4096x4096x1",      // matrix-vector
+                "1x4096x4096"       // vector-matrix
+        })
+        public String shape;
+
+        @Param({"packed", "shape-aware", "thread-pool-simd", "forkjoin-tiled"})
+        public String algorithmName;
+
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        public DenseMatrix a;
+        public DenseMatrix b;
+        public DenseMatrix c;
+        public AbstractMatrixMultiplicationAlgorithm algorithm;
+        private SharedPoolExecutionContext sharedPool;
+        private ForkJoinPool forkJoinPool;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            int[] dims = BenchmarkOptions.parseShape(shape);
+            a = MatrixUtils.randomDense(dims[0], dims[1]);
+            b = MatrixUtils.randomDense(dims[1], dims[2]);
+            c = new DenseMatrix(dims[0], dims[2]);
+            algorithm = create(algorithmName);
+            System.out.println("Testing " + algorithm.getName() + " on " + shape + " with " + threads + " threads");
+        }
+
+        private AbstractMatrixMultiplicationAlgorithm create(String name) {
+            return switch (name) {
+                case "packed" -> new ParallelPackedMicroKernelMultiplication(sharedPool());
+                case "shape-aware" -> new ParallelShapeAwareMultiplication(forkJoin());
+                case "thread-pool-simd" -> new ParallelThreadPoolSIMDMultiplication(sharedPool());
+                case "forkjoin-tiled" -> new ParallelForkJoinSIMDTiledMultiplication(forkJoin());
+                default -> throw new IllegalArgumentException("Unknown algorithm: " + name);
+            };
+        }
+
+        private ExecutionContext sharedPool() {
+            sharedPool = new SharedPoolExecutionContext(threads);
+            return sharedPool;
+        }
+
+        private ExecutionContext forkJoin() {
+            forkJoinPool = new ForkJoinPool(threads);
+            return new ForkJoinExecutionContext(forkJoinPool);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (sharedPool != null) {
+                sharedPool.executor().shutdown();
+            }
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdown();
+            }
+            a = null;
+            b = null;
+            c = null;
+        }
+    }
+
+    /**
+     * One product into a preallocated C. All four algorithms multiply in place and keep
+     * their transposed or packed copies of B in per-thread workspaces, so the score is
+     * the kernel rather than the allocator; only shape-aware still allocates, for the
+     * partial results of a split inner dimension.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(value = BenchmarkOptions.FORKS)
+    @Warmup(iterations = BenchmarkOptions.WARMUP_ITERATIONS, time = 2)
+    @Measurement(iterations = BenchmarkOptions.MEASUREMENT_ITERATIONS, time = 2)
+    public void multiplyInto(ShapeState state, Blackhole blackhole) {
+        state.algorithm.multiplyInto(state.a, state.b, state.c, 1.0, 0.0);
+        blackhole.consume(state.c);
+    }
+
+    /**
+     * Powers of two up to the core count, plus the core count itself
+     */
+    static String[] threadCounts() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<String> counts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            counts.add(String.valueOf(threads));
+        }
+        counts.add(String.valueOf(cores));
+        return counts.toArray(String[]::new);
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        System.out.println("===== SHAPE AND THREAD SCALING BENCHMARK =====");
+
+        var options = BenchmarkOptions.defaults(ShapeScalingBenchmark.class, "-Xms4g", "-Xmx8g")
+                .param("threads", threadCounts())
+                .resultFormat(ResultFormatType.CSV)
+                .result("shape-scaling-benchmark-results.csv")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        BenchmarkOptions.reportGflops(results, "shape-scaling-benchmark-gflops.csv");
+
+        System.out.println("\nBenchmark complete. Results have been saved to 'shape-scaling-benchmark-results.csv'"
+                + " and 'shape-scaling-benchmark-gflops.csv'");
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.Storage;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses decimal floating-point numbers straight from ASCII bytes, correctly rounded
+ *
+ * Decimal mantissas of up to 19 significant digits, which covers everything
+ * Double.toString produces, are converted with the Eisel-Lemire algorithm: one or
+ * two 64 x 64-bit multiplications by a 128-bit approximation of the power of ten,
+ * with no String, no BigDecimal and no allocation. Longer mantissas, subnormal
+ * results and anything that is not a plain decimal number (NaN, Infinity, hex
+ * floats) fall back to Double.parseDouble.
+ */
+final class DoubleParser {
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+    private static final int MANTISSA_BITS = 52;
+    private static final int MINIMUM_EXPONENT = -1023;
+    private static final int INFINITE_POWER = 0x7FF;
+    private static final long PRECISION_MASK = -1L >>> (MANTISSA_BITS + 3);
+
+    // 128-bit approximations of 5^q for q in [-342, 308], normalized so the top bit is set:
+    // truncated for q >= 0, rounded up for q < 0. High word at 2 * index, low word after it
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private DoubleParser() {
+    }
+
+    /**
+     * Parse the len bytes at offset as a double
+     *
+     * @throws NumberFormatException if they are not a number
+     */
+    static double parse(byte[] bytes, int offset, int len) {
+        int end = offset + len;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+
+        for (; i < end && isDigit(bytes[i]); i++) {
+            anyDigit = true;
+            if (mantissa != 0 || bytes[i] != '0') {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                digits++;
+            }
+            if (digits > 19) {
+                return fallback(bytes, offset, len);
+            }
+        }
+        if (i < end && bytes[i] == '.') {
+            for (i++; i < end && isDigit(bytes[i]); i++) {
+                anyDigit = true;
+                if (mantissa != 0 || bytes[i] != '0') {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    digits++;
+                }
+                exponent--;
+                if (digits > 19) {
+                    return fallback(bytes, offset, len);
+                }
+            }
+        }
+        if (!anyDigit) {
+            return fallback(bytes, offset, len);
+        }
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            if (i == end) {
+                return fallback(bytes, offset, len);
+            }
+            int explicit = 0;
+            for (; i < end && isDigit(bytes[i]); i++) {
+                if (explicit < 100_000) {
+                    explicit = explicit * 10 + (bytes[i] - '0');
+                }
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != end) {
+            return fallback(bytes, offset, len);
+        }
+
+        if (mantissa == 0 || exponent < SMALLEST_POWER_OF_TEN) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (exponent > LARGEST_POWER_OF_TEN) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        long bits = eiselLemire(mantissa, exponent);
+        if (bits < 0) {
+            return fallback(bytes, offset, len);
+        }
+        double value = Double.longBitsToDouble(bits);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Bits of the double nearest to w * 10^q, or -1 for subnormal results
+     */
+    private static long eiselLemire(long w, int q) {
+        int leadingZeros = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeros;
+
+        int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+        long high = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        if ((high & PRECISION_MASK) == PRECISION_MASK) {
+            // Not enough bits to round: bring in the low word of the power
+            long secondHigh = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - leadingZeros - MINIMUM_EXPONENT;
+        if (power2 <= 0) {
+            return -1;
+        }
+
+        // Exactly halfway between two doubles: round to even rather than up
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_BITS)) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= INFINITE_POWER) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        return mantissa | (long) power2 << MANTISSA_BITS;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static double fallback(byte[] bytes, int offset, int len) {
+        return Double.parseDouble(new String(bytes, offset, len, StandardCharsets.ISO_8859_1));
+    }
+
+    private static long[] powersOfFive() {
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        long[] table = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger power;
+            if (q < 0) {
+                BigInteger five = BigInteger.valueOf(5).pow(-q);
+                int z = five.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                power = BigInteger.ONE.shiftLeft(b).divide(five).add(BigInteger.ONE);
+                while (power.compareTo(two128) >= 0) {
+                    power = power.shiftRight(1);
+                }
+            } else {
+                power = BigInteger.valueOf(5).pow(q);
+                power = power.bitLength() < 128 ? power.shiftLeft(128 - power.bitLength()) : power.shiftRight(power.bitLength() - 128);
+            }
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            table[index] = power.shiftRight(64).longValue();
+            table[index + 1] = power.longValue();
+        }
+        return table;
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.Storage;
+
+import org.example.Matrices.DenseMatrix;
+import org.example.Matrices.OffHeapMatrix;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Matrix stored on disk as a grid of tiles and accessed through one memory-mapped segment
+ *
+ * The file starts with a {@link #HEADER_BYTES}-byte big-endian header:
+ * <pre>
+ *   0  int   magic "MATX"
+ *   4  int   format version (1)
+ *   8  int   element type code, see {@link DType}
+ *  12  int   element byte order, 0 = little endian, 1 = big endian
+ *  16  int   rows
+ *  20  int   cols
+ *  24  int   tile rows
+ *  28  int   tile cols
+ *  32  long  offset of the first tile
+ *  40..63    reserved, zero
+ * </pre>
+ * The matrix is cut into tileRows x tileCols tiles, stored tile row by tile row. Every
+ * tile occupies a full tileRows * tileCols elements, row-major, with the parts past
+ * the matrix edge zero, so tile (ti, tj) starts at a fixed offset and can be viewed
+ * in place as an {@link OffHeapMatrix}. Tiles start on a page boundary. Nothing is
+ * read until it is touched, so a file may be far larger than physical memory; the
+ * operating system pages tiles in and out, steered by {@link #prefetch} and
+ * {@link #release}.
+ */
+public class MatrixFile implements AutoCloseable {
+
+    public static final int HEADER_BYTES = MatrixHeader.BYTES;
+
+    /**
+     * Element types a matrix file can hold
+     */
+    public enum DType {
+        FLOAT64(1, Double.BYTES);
+
+        private final int code;
+        private final int bytes;
+
+        DType(int code, int bytes) {
+            this.code = code;
+            this.bytes = bytes;
+        }
+
+        public int code() {
+            return code;
+        }
+
+        public int bytes() {
+            return bytes;
+        }
+
+        static DType fromCode(int code) throws IOException {
+            for (DType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IOException("Unsupported element type code " + code);
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final MatrixHeader header;
+
+    private MatrixFile(Path path, FileChannel channel, FileChannel.MapMode mode, MatrixHeader header) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.header = header;
+        this.arena = Arena.ofShared();
+        this.segment = channel.map(mode, 0, channel.size(), arena);
+    }
+
+    /**
+     * Create (or overwrite) a zero-filled rows x cols matrix file with the given tile shape
+     */
+    public static MatrixFile create(Path path, int rows, int cols, int tileRows, int tileCols) throws IOException {
+        MatrixHeader header = new MatrixHeader(rows, cols, tileRows, tileCols, MatrixHeader.DEFAULT_DATA_OFFSET);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            header.write(channel);
+            // Extend the file to its full size without writing the (sparse, zero) tiles
+            channel.write(ByteBuffer.allocate(1), header.fileSize() - 1);
+
+            return new MatrixFile(path, channel, FileChannel.MapMode.READ_WRITE, header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open an existing matrix file, read-only or for reading and writing
+     */
+    public static MatrixFile open(Path path, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MatrixHeader header = MatrixHeader.read(channel, path);
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            return new MatrixFile(path, channel, mode, header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Write a heap matrix to a new matrix file
+     */
+    public static MatrixFile of(Path path, DenseMatrix matrix, int tileRows, int tileCols) throws IOException {
+        MatrixFile file = create(path, matrix.rows(), matrix.cols(), tileRows, tileCols);
+        try {
+            file.copyFrom(matrix);
+        } catch (RuntimeException e) {
+            file.close();
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Overwrite the file's contents with a heap matrix of the same shape
+     */
+    public void copyFrom(DenseMatrix matrix) {
+        if (matrix.rows() != rows() || matrix.cols() != cols()) {
+            throw new IllegalArgumentException("Shape mismatch: " + matrix + " into " + this);
+        }
+        for (int ti = 0; ti < tileRowCount(); ti++) {
+            for (int tj = 0; tj < tileColCount(); tj++) {
+                OffHeapMatrix tile = tile(ti, tj);
+                tile.copyFrom(matrix.view(ti * tileRows(), tj * tileCols(), tile.rows(), tile.cols()));
+            }
+        }
+    }
+
+    /**
+     * Read the whole matrix into a heap matrix; only for files that fit in memory
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix result = new DenseMatrix(rows(), cols());
+        for (int ti = 0; ti < tileRowCount(); ti++) {
+            for (int tj = 0; tj < tileColCount(); tj++) {
+                OffHeapMatrix tile = tile(ti, tj);
+                tile.copyInto(result.view(ti * tileRows(), tj * tileCols(), tile.rows(), tile.cols()));
+            }
+        }
+        return result;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int rows() {
+        return header.rows();
+    }
+
+    public int cols() {
+        return header.cols();
+    }
+
+    public int tileRows() {
+        return header.tileRows();
+    }
+
+    public int tileCols() {
+        return header.tileCols();
+    }
+
+    /**
+     * Number of tiles down the matrix
+     */
+    public int tileRowCount() {
+        return header.tileRowCount();
+    }
+
+    /**
+     * Number of tiles across the matrix
+     */
+    public int tileColCount() {
+        return header.tileColCount();
+    }
+
+    /**
+     * The mapped bytes of tile (ti, tj), padding included
+     */
+    public MemorySegment tileSegment(int ti, int tj) {
+        if (ti < 0 || tj < 0 || ti >= tileRowCount() || tj >= tileColCount()) {
+            throw new IndexOutOfBoundsException("Tile (" + ti + ", " + tj + ") outside "
+                    + tileRowCount() + "x" + tileColCount() + " tiles");
+        }
+        long index = (long) ti * tileColCount() + tj;
+        return segment.asSlice(header.dataOffset() + index * header.tileBytes(), header.tileBytes());
+    }
+
+    /**
+     * Tile (ti, tj) viewed in place, clipped to the matrix edge; writes go straight to the mapping
+     */
+    public OffHeapMatrix tile(int ti, int tj) {
+        int tileHeight = Math.min(tileRows(), rows() - ti * tileRows());
+        int tileWidth = Math.min(tileCols(), cols() - tj * tileCols());
+        return OffHeapMatrix.wrap(tileSegment(ti, tj), tileHeight, tileWidth, tileCols());
+    }
+
+    /**
+     * Page tile (ti, tj) into memory, blocking until it is resident
+     */
+    public void prefetch(int ti, int tj) {
+        tileSegment(ti, tj).load();
+    }
+
+    /**
+     * Hint that tile (ti, tj) is not needed for a while, so its pages may be evicted
+     */
+    public void release(int ti, int tj) {
+        tileSegment(ti, tj).unload();
+    }
+
+    /**
+     * Write tile (ti, tj) back to disk
+     */
+    public void flush(int ti, int tj) {
+        tileSegment(ti, tj).force();
+    }
+
+    /**
+     * Write every modified page back to disk
+     */
+    public void flush() {
+        segment.force();
+    }
+
+    /**
+     * Unmap and close the file; views returned by {@link #tile} must not be used afterwards
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            arena.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixFile[" + path + ", " + rows() + "x" + cols() + " in " + tileRows() + "x" + tileCols() + " tiles]";
+    }
+}
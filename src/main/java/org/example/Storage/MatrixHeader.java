@@ -0,0 +1,101 @@
+package org.example.Storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * The fixed header at the start of every matrix file, see {@link MatrixFile} for the layout
+ */
+record MatrixHeader(int rows, int cols, int tileRows, int tileCols, long dataOffset) {
+
+    static final int MAGIC = 0x4D415458;
+    static final int FORMAT_VERSION = 1;
+    static final int BYTES = 64;
+
+    // Tiles start on a page boundary
+    static final long DEFAULT_DATA_OFFSET = 4096;
+
+    MatrixHeader {
+        if (rows < 0 || cols < 0 || tileRows < 1 || tileCols < 1 || dataOffset < BYTES) {
+            throw new IllegalArgumentException("Invalid matrix file shape: " + rows + "x" + cols
+                    + " in " + tileRows + "x" + tileCols + " tiles at offset " + dataOffset);
+        }
+    }
+
+    int tileRowCount() {
+        return (rows + tileRows - 1) / tileRows;
+    }
+
+    int tileColCount() {
+        return (cols + tileCols - 1) / tileCols;
+    }
+
+    long tileBytes() {
+        return (long) tileRows * tileCols * MatrixFile.DType.FLOAT64.bytes();
+    }
+
+    /**
+     * Size of a complete file with this header
+     */
+    long fileSize() {
+        return dataOffset + (long) tileRowCount() * tileColCount() * tileBytes();
+    }
+
+    void write(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(MatrixFile.DType.FLOAT64.code())
+                .putInt(ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 1 : 0)
+                .putInt(rows)
+                .putInt(cols)
+                .putInt(tileRows)
+                .putInt(tileCols)
+                .putLong(dataOffset)
+                .rewind();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Read and validate the header of a matrix file, including that the file is complete
+     */
+    static MatrixHeader read(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BYTES).order(ByteOrder.BIG_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // keep reading until the header is complete or the file ends
+        }
+        if (header.hasRemaining()) {
+            throw new IOException(path + " is too short to be a matrix file");
+        }
+        header.flip();
+
+        if (header.getInt() != MAGIC) {
+            throw new IOException(path + " is not a matrix file");
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported matrix file version " + version + " in " + path);
+        }
+        MatrixFile.DType.fromCode(header.getInt());
+        ByteOrder order = header.getInt() == 1 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        if (order != ByteOrder.nativeOrder()) {
+            throw new IOException(path + " holds " + order + " elements, this machine is " + ByteOrder.nativeOrder());
+        }
+
+        MatrixHeader result;
+        try {
+            result = new MatrixHeader(header.getInt(), header.getInt(), header.getInt(), header.getInt(), header.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt header in " + path + ": " + e.getMessage());
+        }
+        if (channel.size() < result.fileSize()) {
+            throw new IOException(path + " is truncated");
+        }
+        return result;
+    }
+}
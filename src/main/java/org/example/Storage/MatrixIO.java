@@ -0,0 +1,249 @@
+package org.example.Storage;
+
+import org.example.Matrices.DenseMatrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Fast loading and saving of heap matrices, in binary and as CSV text
+ *
+ * The binary form is a {@link MatrixFile} holding the whole matrix as one row-major
+ * tile, so it can also be opened with {@link MatrixFile#open} and mapped. Elements
+ * are in native byte order and move between the matrix and the file in bulk
+ * through a reused direct buffer, with no per-element conversion.
+ *
+ * CSV output appends each number straight into a character buffer and CSV input
+ * is parsed from raw bytes by {@link DoubleParser}; neither goes through
+ * String.format, a String per token or Double.parseDouble on the common path.
+ * Values may be separated by commas, spaces or tabs and rows end at a newline;
+ * blank lines are skipped.
+ */
+public final class MatrixIO {
+
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int MAX_TOKEN_BYTES = 1024;
+
+    private MatrixIO() {
+    }
+
+    /**
+     * Write a matrix in the binary matrix file format, replacing any existing file
+     */
+    public static void writeBinary(Path path, DenseMatrix matrix) throws IOException {
+        MatrixHeader header = new MatrixHeader(matrix.rows(), matrix.cols(), Math.max(1, matrix.rows()),
+                Math.max(1, matrix.cols()), MatrixHeader.DEFAULT_DATA_OFFSET);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            header.write(channel);
+            channel.position(header.dataOffset());
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.nativeOrder());
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            double[] data = matrix.data();
+
+            for (int i = 0; i < matrix.rows(); i++) {
+                int index = matrix.index(i, 0);
+                int remaining = matrix.cols();
+                while (remaining > 0) {
+                    int count = Math.min(remaining, doubles.remaining());
+                    doubles.put(data, index, count);
+                    index += count;
+                    remaining -= count;
+                    if (!doubles.hasRemaining()) {
+                        drain(channel, buffer, doubles);
+                    }
+                }
+            }
+            drain(channel, buffer, doubles);
+
+            // Pad to the full tile size, in case the matrix is empty
+            if (channel.size() < header.fileSize()) {
+                channel.write(ByteBuffer.allocate(1), header.fileSize() - 1);
+            }
+        }
+    }
+
+    /**
+     * Read a matrix from a binary matrix file of any tile shape
+     */
+    public static DenseMatrix readBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MatrixHeader header = MatrixHeader.read(channel, path);
+            if (header.tileRowCount() > 1 || header.tileColCount() > 1
+                    || (header.tileCols() != header.cols() && header.rows() > 1)) {
+                // Tiled file: let the mapping do the tile arithmetic
+                try (MatrixFile file = MatrixFile.open(path, false)) {
+                    return file.toDense();
+                }
+            }
+
+            DenseMatrix result = new DenseMatrix(header.rows(), header.cols());
+            double[] data = result.data();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.nativeOrder());
+            long position = header.dataOffset();
+            int index = 0;
+
+            while (index < data.length) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), (long) (data.length - index) * Double.BYTES));
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new IOException(path + " is truncated");
+                    }
+                    position += read;
+                }
+                buffer.flip();
+                DoubleBuffer doubles = buffer.asDoubleBuffer();
+                int count = doubles.remaining();
+                doubles.get(data, index, count);
+                index += count;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Write a matrix as comma-separated text, one row per line, replacing any existing file.
+     * Numbers are written in the shortest form that reads back to the same double.
+     */
+    public static void writeCsv(Path path, DenseMatrix matrix) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            StringBuilder text = new StringBuilder(64);
+
+            for (int i = 0; i < matrix.rows(); i++) {
+                for (int j = 0; j < matrix.cols(); j++) {
+                    text.setLength(0);
+                    text.append(matrix.get(i, j));
+                    if (buffer.remaining() < text.length() + 1) {
+                        flush(channel, buffer);
+                    }
+                    for (int c = 0; c < text.length(); c++) {
+                        buffer.put((byte) text.charAt(c));
+                    }
+                    buffer.put((byte) (j < matrix.cols() - 1 ? ',' : '\n'));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Read a matrix from delimited text; every non-blank line must hold the same number of values
+     */
+    public static DenseMatrix readCsv(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            TextParser parser = new TextParser(path);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                parser.accept(buffer.array(), buffer.limit());
+                buffer.clear();
+            }
+            return parser.finish();
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer, DoubleBuffer doubles) throws IOException {
+        buffer.position(0).limit(doubles.position() * Double.BYTES);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        doubles.clear();
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Byte-at-a-time tokenizer that carries a partial token and row across buffer refills
+     */
+    private static final class TextParser {
+        private final Path path;
+        private final byte[] token = new byte[MAX_TOKEN_BYTES];
+        private int tokenLength;
+        private double[] values = new double[1024];
+        private int count;
+        private int rows;
+        private int cols = -1;
+        private int rowValues;
+        private long line = 1;
+
+        TextParser(Path path) {
+            this.path = path;
+        }
+
+        void accept(byte[] bytes, int length) throws IOException {
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[i];
+                if (b == ',' || b == ' ' || b == '\t' || b == '\r') {
+                    endToken();
+                } else if (b == '\n') {
+                    endToken();
+                    endRow();
+                    line++;
+                } else {
+                    if (tokenLength == MAX_TOKEN_BYTES) {
+                        throw new IOException("Value longer than " + MAX_TOKEN_BYTES + " bytes at line " + line + " of " + path);
+                    }
+                    token[tokenLength++] = b;
+                }
+            }
+        }
+
+        DenseMatrix finish() throws IOException {
+            endToken();
+            endRow();
+            return DenseMatrix.wrap(Arrays.copyOf(values, count), rows, Math.max(cols, 0));
+        }
+
+        private void endToken() throws IOException {
+            if (tokenLength == 0) {
+                return;
+            }
+            double value;
+            try {
+                value = DoubleParser.parse(token, 0, tokenLength);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid number at line " + line + " of " + path + ": " + e.getMessage());
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, 1024));
+            }
+            values[count++] = value;
+            rowValues++;
+            tokenLength = 0;
+        }
+
+        private void endRow() throws IOException {
+            if (rowValues == 0) {
+                return;
+            }
+            if (cols < 0) {
+                cols = rowValues;
+            } else if (rowValues != cols) {
+                throw new IOException("Line " + line + " of " + path + " has " + rowValues
+                        + " values, expected " + cols);
+            }
+            rows++;
+            rowValues = 0;
+        }
+    }
+}
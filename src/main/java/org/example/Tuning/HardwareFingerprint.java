@@ -0,0 +1,83 @@
+package org.example.Tuning;
+
+import jdk.incubator.vector.DoubleVector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Identifies the hardware tuning results are valid for: CPU model, core count and SIMD width
+ */
+public class HardwareFingerprint {
+    private final String cpuModel;
+    private final int cores;
+    private final int vectorBits;
+
+    public HardwareFingerprint(String cpuModel, int cores, int vectorBits) {
+        this.cpuModel = cpuModel;
+        this.cores = cores;
+        this.vectorBits = vectorBits;
+    }
+
+    /**
+     * Fingerprint of the machine this JVM is running on
+     */
+    public static HardwareFingerprint current() {
+        return new HardwareFingerprint(detectCpuModel(),
+                Runtime.getRuntime().availableProcessors(),
+                DoubleVector.SPECIES_PREFERRED.vectorBitSize());
+    }
+
+    public String cpuModel() {
+        return cpuModel;
+    }
+
+    public int cores() {
+        return cores;
+    }
+
+    public int vectorBits() {
+        return vectorBits;
+    }
+
+    /**
+     * File-name safe key, e.g. "Intel_R_Xeon_R_Processor-8c-512b"
+     */
+    public String key() {
+        String model = cpuModel.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+        if (model.length() > 64) {
+            model = model.substring(0, 64);
+        }
+        return model + "-" + cores + "c-" + vectorBits + "b";
+    }
+
+    private static String detectCpuModel() {
+        // Linux exposes the marketing name in /proc/cpuinfo, Windows in an environment variable
+        try {
+            List<String> lines = Files.readAllLines(Path.of("/proc/cpuinfo"));
+            for (String line : lines) {
+                if (line.startsWith("model name") || line.startsWith("Hardware") || line.startsWith("Model")) {
+                    int colon = line.indexOf(':');
+                    if (colon >= 0 && !line.substring(colon + 1).isBlank()) {
+                        return line.substring(colon + 1).trim();
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // Not Linux, or /proc is unavailable
+        }
+
+        String identifier = System.getenv("PROCESSOR_IDENTIFIER");
+        if (identifier != null && !identifier.isBlank()) {
+            return identifier.trim();
+        }
+        return System.getProperty("os.arch", "unknown");
+    }
+
+    @Override
+    public String toString() {
+        return cpuModel + ", " + cores + " cores, " + vectorBits + "-bit vectors";
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.Tuning;
+
+/**
+ * Minimal in-process timing loop used by calibration and parameter sweeps
+ */
+public final class MicroBenchmark {
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * Best wall time of one run of body, in nanoseconds
+     *
+     * The body is first run untimed for at least warmupNanos so the JIT has a chance
+     * to compile it, then timed at least minRepetitions times and until targetNanos
+     * of measured time have been spent.
+     */
+    public static long bestTimeNanos(Runnable body, long warmupNanos, int minRepetitions, long targetNanos) {
+        long warmupStart = System.nanoTime();
+        do {
+            body.run();
+        } while (System.nanoTime() - warmupStart < warmupNanos);
+
+        long best = Long.MAX_VALUE;
+        long spent = 0;
+        for (int i = 0; i < minRepetitions || spent < targetNanos; i++) {
+            long start = System.nanoTime();
+            body.run();
+            long elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed);
+            spent += elapsed;
+        }
+        return best;
+    }
+}
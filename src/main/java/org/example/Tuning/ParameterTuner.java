@@ -0,0 +1,120 @@
+package org.example.Tuning;
+
+import org.example.Algorithms.AbstractMatrixMultiplicationAlgorithm;
+import org.example.Algorithms.ParallelForkJoinMultiplication;
+import org.example.Algorithms.ParallelForkJoinSIMDTiledMultiplication;
+import org.example.Matrices.DenseMatrix;
+import org.example.MatrixUtils;
+
+/**
+ * Sweeps the blocking and parallelism thresholds with short in-process micro-benchmarks
+ *
+ * Each candidate value is timed on a fixed problem and the fastest one wins. The
+ * whole sweep takes a few seconds, so it only runs from {@link #main}, which caches
+ * the result for this machine where {@link TunedParameters} picks it up.
+ */
+public class ParameterTuner {
+
+    private static final int[] TILE_SIZES = {16, 32, 64, 128, 256};
+    private static final int[] PARALLEL_THRESHOLDS = {32, 64, 128, 256, 512};
+    private static final int[] FORK_JOIN_THRESHOLDS = {16, 32, 64, 128, 256};
+
+    private static final int TILE_SWEEP_SIZE = 512;
+    private static final int FORK_JOIN_SWEEP_SIZE = 256;
+
+    private static final long WARMUP_NANOS = 20_000_000L;
+    private static final int MIN_REPETITIONS = 3;
+    private static final long TARGET_NANOS = 50_000_000L;
+
+    /**
+     * Run the full sweep and return the best value of every parameter
+     */
+    public TunedParameters sweep() {
+        int tileSize = sweepTileSize();
+        int parallelThreshold = sweepParallelThreshold(tileSize);
+        int forkJoinThreshold = sweepForkJoinThreshold();
+        return new TunedParameters(tileSize, parallelThreshold, forkJoinThreshold);
+    }
+
+    /**
+     * Tile edge with the lowest time for a single-threaded TILE_SWEEP_SIZE^3 product
+     */
+    int sweepTileSize() {
+        DenseMatrix a = MatrixUtils.randomDense(TILE_SWEEP_SIZE, TILE_SWEEP_SIZE);
+        DenseMatrix b = MatrixUtils.randomDense(TILE_SWEEP_SIZE, TILE_SWEEP_SIZE);
+
+        int best = TILE_SIZES[0];
+        long bestTime = Long.MAX_VALUE;
+        for (int tileSize : TILE_SIZES) {
+            long time = time(new ParallelForkJoinSIMDTiledMultiplication(tileSize, Integer.MAX_VALUE), a, b);
+            System.out.printf("  tileSize=%d: %.3f ms%n", tileSize, time / 1e6);
+            if (time < bestTime) {
+                bestTime = time;
+                best = tileSize;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Largest candidate size at which the sequential path still beats the fork-join path;
+     * on a single core that is the largest candidate
+     */
+    int sweepParallelThreshold(int tileSize) {
+        var sequential = new ParallelForkJoinSIMDTiledMultiplication(tileSize, Integer.MAX_VALUE);
+        var parallel = new ParallelForkJoinSIMDTiledMultiplication(tileSize, 0);
+
+        int threshold = PARALLEL_THRESHOLDS[0];
+        for (int size : PARALLEL_THRESHOLDS) {
+            DenseMatrix a = MatrixUtils.randomDense(size, size);
+            DenseMatrix b = MatrixUtils.randomDense(size, size);
+            long sequentialTime = time(sequential, a, b);
+            long parallelTime = time(parallel, a, b);
+            System.out.printf("  size=%d: sequential %.3f ms, parallel %.3f ms%n", size,
+                    sequentialTime / 1e6, parallelTime / 1e6);
+            if (sequentialTime <= parallelTime) {
+                threshold = size;
+            } else {
+                break;
+            }
+        }
+        return threshold;
+    }
+
+    /**
+     * Leaf block edge with the lowest time for a FORK_JOIN_SWEEP_SIZE^3 product
+     */
+    int sweepForkJoinThreshold() {
+        DenseMatrix a = MatrixUtils.randomDense(FORK_JOIN_SWEEP_SIZE, FORK_JOIN_SWEEP_SIZE);
+        DenseMatrix b = MatrixUtils.randomDense(FORK_JOIN_SWEEP_SIZE, FORK_JOIN_SWEEP_SIZE);
+
+        int best = FORK_JOIN_THRESHOLDS[0];
+        long bestTime = Long.MAX_VALUE;
+        for (int threshold : FORK_JOIN_THRESHOLDS) {
+            long time = time(new ParallelForkJoinMultiplication(threshold), a, b);
+            System.out.printf("  forkJoinThreshold=%d: %.3f ms%n", threshold, time / 1e6);
+            if (time < bestTime) {
+                bestTime = time;
+                best = threshold;
+            }
+        }
+        return best;
+    }
+
+    private static long time(AbstractMatrixMultiplicationAlgorithm algorithm, DenseMatrix a, DenseMatrix b) {
+        return MicroBenchmark.bestTimeNanos(() -> algorithm.multiply(a, b), WARMUP_NANOS, MIN_REPETITIONS, TARGET_NANOS);
+    }
+
+    /**
+     * Re-run the sweep for this machine and overwrite the cached result
+     */
+    public static void main(String[] args) {
+        TuningCache cache = TuningCache.defaultCache();
+        System.out.println("Tuning for " + cache.hardware());
+
+        TunedParameters parameters = new ParameterTuner().sweep();
+        cache.store(TunedParameters.CACHE_KIND, parameters.toProperties());
+
+        System.out.println("Tuned parameters " + parameters + " saved to " + cache.file(TunedParameters.CACHE_KIND));
+    }
+}
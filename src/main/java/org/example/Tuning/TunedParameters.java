@@ -0,0 +1,104 @@
+package org.example.Tuning;
+
+import java.util.Properties;
+
+/**
+ * Blocking and parallelism thresholds used by the default-constructed algorithms
+ *
+ * {@link #current()} loads the values stored for this hardware in the
+ * {@link TuningCache}, and falls back to the built-in defaults when nothing is
+ * stored. Run {@link ParameterTuner#main} once on a new machine to tune and
+ * store them; constructing an algorithm never starts the sweep by itself.
+ */
+public class TunedParameters {
+
+    static final String CACHE_KIND = "tuning";
+
+    private static final int DEFAULT_TILE_SIZE = 64;
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 128;
+    private static final int DEFAULT_FORK_JOIN_THRESHOLD = 64;
+
+    private final int tileSize;
+    private final int parallelThreshold;
+    private final int forkJoinThreshold;
+
+    public TunedParameters(int tileSize, int parallelThreshold, int forkJoinThreshold) {
+        if (tileSize < 1 || parallelThreshold < 1 || forkJoinThreshold < 1) {
+            throw new IllegalArgumentException("Tuned parameters must be positive: tileSize=" + tileSize
+                    + ", parallelThreshold=" + parallelThreshold + ", forkJoinThreshold=" + forkJoinThreshold);
+        }
+        this.tileSize = tileSize;
+        this.parallelThreshold = parallelThreshold;
+        this.forkJoinThreshold = forkJoinThreshold;
+    }
+
+    /**
+     * The hand-picked values the algorithms shipped with
+     */
+    public static TunedParameters defaults() {
+        return new TunedParameters(DEFAULT_TILE_SIZE, DEFAULT_PARALLEL_THRESHOLD, DEFAULT_FORK_JOIN_THRESHOLD);
+    }
+
+    /**
+     * Parameters cached for this machine by ParameterTuner, or the defaults if it has not been run
+     */
+    public static TunedParameters current() {
+        return Holder.CURRENT;
+    }
+
+    /**
+     * Tile edge of the tiled SIMD kernel (ParallelForkJoinSIMDTiledMultiplication TILE_SIZE)
+     */
+    public int tileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Rows/columns at or below which the tiled SIMD kernel stays sequential (PARALLEL_THRESHOLD)
+     */
+    public int parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Leaf block edge of ParallelForkJoinMultiplication
+     */
+    public int forkJoinThreshold() {
+        return forkJoinThreshold;
+    }
+
+    Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("tileSize", Integer.toString(tileSize));
+        properties.setProperty("parallelThreshold", Integer.toString(parallelThreshold));
+        properties.setProperty("forkJoinThreshold", Integer.toString(forkJoinThreshold));
+        return properties;
+    }
+
+    static TunedParameters fromProperties(Properties properties) {
+        try {
+            return new TunedParameters(
+                    Integer.parseInt(properties.getProperty("tileSize")),
+                    Integer.parseInt(properties.getProperty("parallelThreshold")),
+                    Integer.parseInt(properties.getProperty("forkJoinThreshold")));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static TunedParameters load() {
+        Properties stored = TuningCache.defaultCache().load(CACHE_KIND);
+        TunedParameters parameters = stored == null ? null : fromProperties(stored);
+        return parameters != null ? parameters : defaults();
+    }
+
+    @Override
+    public String toString() {
+        return "[tileSize=" + tileSize + ", parallelThreshold=" + parallelThreshold
+                + ", forkJoinThreshold=" + forkJoinThreshold + "]";
+    }
+
+    private static class Holder {
+        static final TunedParameters CURRENT = load();
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.Tuning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Local store of tuning results, one properties file per kind of result and per hardware fingerprint
+ *
+ * Files live in ~/.matrices-harness unless the matrices.tuning.dir system property
+ * points elsewhere, and are named kind-fingerprint.properties so a shared home
+ * directory never hands one machine's results to another.
+ */
+public class TuningCache {
+
+    /**
+     * System property overriding the cache directory
+     */
+    public static final String DIRECTORY_PROPERTY = "matrices.tuning.dir";
+
+    private final Path directory;
+    private final HardwareFingerprint hardware;
+
+    public TuningCache(Path directory, HardwareFingerprint hardware) {
+        this.directory = directory;
+        this.hardware = hardware;
+    }
+
+    /**
+     * Cache for this machine in the configured or default directory
+     */
+    public static TuningCache defaultCache() {
+        String configured = System.getProperty(DIRECTORY_PROPERTY);
+        Path directory = configured != null
+                ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".matrices-harness");
+        return new TuningCache(directory, HardwareFingerprint.current());
+    }
+
+    public HardwareFingerprint hardware() {
+        return hardware;
+    }
+
+    /**
+     * Path of the file holding one kind of result for this hardware
+     */
+    public Path file(String kind) {
+        return directory.resolve(kind + "-" + hardware.key() + ".properties");
+    }
+
+    /**
+     * Stored results of the given kind, or null if nothing has been stored yet
+     */
+    public Properties load(String kind) {
+        Path file = file(kind);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            return properties;
+        } catch (IOException e) {
+            System.err.println("Failed to read tuning cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Persist results of the given kind, replacing what was stored before
+     */
+    public void store(String kind, Properties properties) {
+        Path file = file(kind);
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, kind + " results for " + hardware);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write tuning cache " + file + ": " + e.getMessage());
+        }
+    }
+}